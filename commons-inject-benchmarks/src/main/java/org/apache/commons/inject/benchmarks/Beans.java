@@ -0,0 +1,115 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.benchmarks;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.api.bind.Scopes;
+
+/**
+ * The objects, and modules, which are used by the benchmarks.
+ */
+public class Beans {
+	/**
+	 * An object without dependencies.
+	 */
+	public static class SimpleBean {
+	}
+
+	/**
+	 * An object with a constructor dependency, and a field dependency.
+	 */
+	public static class InjectedBean {
+		private final SimpleBean simpleBean;
+		@Inject @Named("lazy") private SimpleBean lazyBean;
+
+		@Inject
+		public InjectedBean(SimpleBean pSimpleBean) {
+			simpleBean = pSimpleBean;
+		}
+
+		public SimpleBean getSimpleBean() {
+			return simpleBean;
+		}
+
+		public SimpleBean getLazyBean() {
+			return lazyBean;
+		}
+	}
+
+	/**
+	 * An object, which is created by the application, and passed to
+	 * {@code IInjector.injectMembers}.
+	 */
+	public static class MembersBean {
+		@Inject private SimpleBean simpleBean;
+		@Inject @Named("eager") private SimpleBean eagerBean;
+		private InjectedBean injectedBean;
+
+		@Inject
+		public void setInjectedBean(InjectedBean pInjectedBean) {
+			injectedBean = pInjectedBean;
+		}
+
+		public SimpleBean getSimpleBean() {
+			return simpleBean;
+		}
+
+		public SimpleBean getEagerBean() {
+			return eagerBean;
+		}
+
+		public InjectedBean getInjectedBean() {
+			return injectedBean;
+		}
+	}
+
+	// Private constructor, to avoid accidental instantiation.
+	private Beans() {
+	}
+
+	/**
+	 * Returns a module with bindings for all scopes.
+	 */
+	public static IModule newModule() {
+		return newModule("");
+	}
+
+	/**
+	 * Returns a module with bindings for all scopes. The binding names are
+	 * prefixed with the given string, so that multiple modules can be
+	 * combined in one injector.
+	 */
+	public static IModule newModule(final String pPrefix) {
+		return new IModule() {
+			@Override
+			public void configure(IBinder pBinder) {
+				if (pPrefix.length() == 0) {
+					pBinder.bind(SimpleBean.class).scope(Scopes.PER_CALL);
+					pBinder.bind(InjectedBean.class).scope(Scopes.PER_CALL);
+				}
+				pBinder.bind(SimpleBean.class, pPrefix + "perCall").scope(Scopes.PER_CALL);
+				pBinder.bind(SimpleBean.class, pPrefix + "lazy").asLazySingleton();
+				pBinder.bind(SimpleBean.class, pPrefix + "eager").asEagerSingleton();
+				pBinder.bind(InjectedBean.class, pPrefix + "injected").scope(Scopes.PER_CALL);
+			}
+		};
+	}
+}
@@ -0,0 +1,79 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.benchmarks.Beans.InjectedBean;
+import org.apache.commons.inject.benchmarks.Beans.SimpleBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link IInjector#requireInstance(Class, String)} for the
+ * various scopes, and {@link IInjector#requireInstance(Class)} for the
+ * unnamed bindings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ScopeBenchmark {
+	private IInjector injector;
+
+	@Setup
+	public void setUp() {
+		injector = CommonsInject.build(Beans.newModule());
+	}
+
+	@Benchmark
+	public SimpleBean perCall() {
+		return injector.requireInstance(SimpleBean.class, "perCall");
+	}
+
+	@Benchmark
+	public SimpleBean lazySingleton() {
+		return injector.requireInstance(SimpleBean.class, "lazy");
+	}
+
+	@Benchmark
+	public SimpleBean eagerSingleton() {
+		return injector.requireInstance(SimpleBean.class, "eager");
+	}
+
+	@Benchmark
+	public SimpleBean perCallUnnamed() {
+		return injector.requireInstance(SimpleBean.class);
+	}
+
+	@Benchmark
+	public InjectedBean perCallWithDependencies() {
+		return injector.requireInstance(InjectedBean.class);
+	}
+}
@@ -0,0 +1,83 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.api.bind.Scopes;
+import org.atinject.tck.auto.Car;
+import org.atinject.tck.auto.Convertible;
+import org.atinject.tck.auto.Drivers;
+import org.atinject.tck.auto.DriversSeat;
+import org.atinject.tck.auto.Engine;
+import org.atinject.tck.auto.FuelTank;
+import org.atinject.tck.auto.Seat;
+import org.atinject.tck.auto.Tire;
+import org.atinject.tck.auto.V8Engine;
+import org.atinject.tck.auto.accessories.Cupholder;
+import org.atinject.tck.auto.accessories.SpareTire;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the creation of a deep object graph: The {@link Car} from the
+ * JSR 330 TCK, configured like in the TckTest.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TckBenchmark {
+	private IInjector injector;
+
+	@Setup
+	public void setUp() {
+		final IModule module = new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(Car.class).to(Convertible.class).scope(Scopes.PER_CALL);
+				pBinder.bind(Seat.class).annotatedWith(Drivers.class).to(DriversSeat.class).scope(Scopes.PER_CALL);
+				pBinder.bind(Engine.class).to(V8Engine.class).scope(Scopes.PER_CALL);
+				pBinder.bind(Tire.class, "spare").to(SpareTire.class).scope(Scopes.PER_CALL);
+				pBinder.bind(SpareTire.class).scope(Scopes.PER_CALL);
+				pBinder.bind(Cupholder.class).scope(Scopes.PER_CALL);
+				pBinder.bind(Tire.class).scope(Scopes.PER_CALL);
+				pBinder.bind(FuelTank.class).scope(Scopes.PER_CALL);
+			}
+		};
+		injector = CommonsInject.build(module);
+	}
+
+	@Benchmark
+	public Car car() {
+		return injector.requireInstance(Car.class);
+	}
+}
@@ -0,0 +1,493 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+import org.apache.commons.inject.api.IStaticFactory;
+import org.apache.commons.inject.api.IStaticInjector;
+import org.apache.commons.inject.util.Types;
+
+/**
+ * An annotation processor, which generates an {@link IStaticInjector} for
+ * every class with members annotated with {@code javax.inject.Inject}.
+ * At runtime, Commons Inject detects the generated class, and uses it
+ * instead of introspecting the class via reflection. The generated class
+ * injects the members of the superclasses, too: The processor determines
+ * the order of injection, and the overridden methods, at compile time.
+ * A class, which inherits members, which the generated class cannot
+ * access (for example, package private members of a superclass in another
+ * package), is skipped.
+ *
+ * Classes with private injected members, classes, which cannot be
+ * accessed from within their own package (for example, private nested
+ * classes), and classes with dependencies, which are annotated with a
+ * {@code javax.inject.Qualifier} other than {@code javax.inject.Named},
+ * are silently ignored: They will be handled via reflection at runtime,
+ * as before. The generated class implements {@link IStaticFactory}, if
+ * the class has an injectable constructor, or {@link IStaticInjector}
+ * only, if it hasn't.
+ */
+@SupportedAnnotationTypes(StaticInjectorProcessor.INJECT)
+public class StaticInjectorProcessor extends AbstractProcessor {
+	static final String INJECT = "javax.inject.Inject";
+	private static final String NAMED = "javax.inject.Named";
+	private static final String QUALIFIER = "javax.inject.Qualifier";
+	private static final String PROVIDER = "javax.inject.Provider";
+
+	/**
+	 * Description of an injectable member (constructor, field, or method).
+	 */
+	private static class Member {
+		private final Element element;
+		private final List<VariableElement> parameters;
+
+		Member(Element pElement, List<VariableElement> pParameters) {
+			element = pElement;
+			parameters = pParameters;
+		}
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> pAnnotations, RoundEnvironment pRoundEnv) {
+		final TypeElement injectType = processingEnv.getElementUtils().getTypeElement(INJECT);
+		if (injectType == null) {
+			return false;
+		}
+		final Set<TypeElement> types = new LinkedHashSet<TypeElement>();
+		for (Element element : pRoundEnv.getElementsAnnotatedWith(injectType)) {
+			final Element enclosingElement = element.getEnclosingElement();
+			if (enclosingElement != null  &&  enclosingElement.getKind() == ElementKind.CLASS) {
+				types.add((TypeElement) enclosingElement);
+			}
+		}
+		for (TypeElement type : types) {
+			try {
+				generate(type);
+			} catch (IOException e) {
+				processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+						"Unable to create the static injector for " + type.getQualifiedName()
+						+ ": " + e.getMessage(), type);
+			}
+		}
+		// Other processors may be interested in @Inject as well.
+		return false;
+	}
+
+	private void generate(TypeElement pType) throws IOException {
+		if (!isAccessible(pType)) {
+			return;
+		}
+		final PackageElement pkg = processingEnv.getElementUtils().getPackageOf(pType);
+		final List<TypeElement> hierarchy = getHierarchy(pType);
+		final List<Member> members = new ArrayList<Member>();
+		for (int i = 0;  i < hierarchy.size();  i++) {
+			final TypeElement type = hierarchy.get(i);
+			final boolean samePackage = processingEnv.getElementUtils().getPackageOf(type).equals(pkg);
+			if (i > 0  &&  !samePackage  &&  !isPublic(type)) {
+				return;
+			}
+			for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+				if (!isInjectable(field)) {
+					continue;
+				}
+				if (!isAccessible(field, samePackage)
+					||  field.getModifiers().contains(Modifier.FINAL)
+					||  hasUnsupportedQualifier(field)) {
+					return;
+				}
+				final List<VariableElement> parameters = new ArrayList<VariableElement>(1);
+				parameters.add(field);
+				members.add(new Member(field, parameters));
+			}
+			for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+				if (!isInjectable(method)  ||  isOverridden(method, hierarchy.subList(i+1, hierarchy.size()))) {
+					continue;
+				}
+				if (!isAccessible(method, samePackage)
+					||  method.getModifiers().contains(Modifier.ABSTRACT)
+					||  hasUnsupportedQualifier(method.getParameters())) {
+					return;
+				}
+				members.add(new Member(method, new ArrayList<VariableElement>(method.getParameters())));
+			}
+		}
+		Member constructor = null;
+		if (!pType.getModifiers().contains(Modifier.ABSTRACT)) {
+			ExecutableElement defaultConstructor = null;
+			for (ExecutableElement c : ElementFilter.constructorsIn(pType.getEnclosedElements())) {
+				if (hasAnnotation(c, INJECT)) {
+					if (c.getModifiers().contains(Modifier.PRIVATE)
+						||  hasUnsupportedQualifier(c.getParameters())) {
+						return;
+					}
+					constructor = new Member(c, new ArrayList<VariableElement>(c.getParameters()));
+					break;
+				}
+				if (c.getParameters().isEmpty()  &&  !c.getModifiers().contains(Modifier.PRIVATE)) {
+					defaultConstructor = c;
+				}
+			}
+			if (constructor == null  &&  defaultConstructor != null) {
+				constructor = new Member(defaultConstructor, new ArrayList<VariableElement>());
+			}
+		}
+		write(pType, constructor, members);
+	}
+
+	/**
+	 * Returns the given class, and its superclasses (except {@link Object}),
+	 * starting with the topmost superclass, which is the order of injection.
+	 */
+	private List<TypeElement> getHierarchy(TypeElement pType) {
+		final List<TypeElement> list = new ArrayList<TypeElement>();
+		for (TypeElement type = pType;  type != null;  ) {
+			if (type.getQualifiedName().contentEquals(Object.class.getName())) {
+				break;
+			}
+			list.add(0, type);
+			final TypeMirror superType = type.getSuperclass();
+			type = superType.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superType).asElement() : null;
+		}
+		return list;
+	}
+
+	/**
+	 * Returns, whether the given method is overridden by a method of one
+	 * of the given subclasses. An overridden method isn't injected, but the
+	 * overriding method is, if it's annotated with {@code javax.inject.Inject}.
+	 */
+	private boolean isOverridden(ExecutableElement pMethod, List<TypeElement> pSubclasses) {
+		for (TypeElement type : pSubclasses) {
+			for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+				if (processingEnv.getElementUtils().overrides(method, pMethod, type)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns, whether the generated class, which is in the package of the
+	 * injected class, may access the given member.
+	 */
+	private boolean isAccessible(Element pMember, boolean pSamePackage) {
+		if (pSamePackage) {
+			return !pMember.getModifiers().contains(Modifier.PRIVATE);
+		}
+		return pMember.getModifiers().contains(Modifier.PUBLIC);
+	}
+
+	/**
+	 * Returns, whether the given class, and its enclosing classes, are public.
+	 */
+	private boolean isPublic(TypeElement pType) {
+		for (Element element = pType;  element instanceof TypeElement;  element = element.getEnclosingElement()) {
+			if (!element.getModifiers().contains(Modifier.PUBLIC)) {
+				return false;
+			}
+		}
+		return isAccessible(pType);
+	}
+
+	private boolean isAccessible(TypeElement pType) {
+		Element element = pType;
+		while (element instanceof TypeElement) {
+			final TypeElement type = (TypeElement) element;
+			if (type.getModifiers().contains(Modifier.PRIVATE)) {
+				return false;
+			}
+			final NestingKind nestingKind = type.getNestingKind();
+			if (nestingKind == NestingKind.LOCAL  ||  nestingKind == NestingKind.ANONYMOUS) {
+				return false;
+			}
+			if (nestingKind == NestingKind.MEMBER  &&  !type.getModifiers().contains(Modifier.STATIC)) {
+				return false;
+			}
+			element = type.getEnclosingElement();
+		}
+		return true;
+	}
+
+	private boolean isInjectable(Element pElement) {
+		return !pElement.getModifiers().contains(Modifier.STATIC)  &&  hasAnnotation(pElement, INJECT);
+	}
+
+	/**
+	 * Returns, whether one of the given parameters is annotated with a
+	 * qualifier, which isn't supported. (Only {@code javax.inject.Named} is.)
+	 */
+	private boolean hasUnsupportedQualifier(List<? extends VariableElement> pParameters) {
+		for (VariableElement parameter : pParameters) {
+			if (hasUnsupportedQualifier(parameter)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasUnsupportedQualifier(VariableElement pElement) {
+		for (AnnotationMirror annotation : pElement.getAnnotationMirrors()) {
+			final TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+			if (!annotationType.getQualifiedName().contentEquals(NAMED)  &&  hasAnnotation(annotationType, QUALIFIER)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasAnnotation(Element pElement, String pAnnotationType) {
+		return getAnnotation(pElement, pAnnotationType) != null;
+	}
+
+	private AnnotationMirror getAnnotation(Element pElement, String pAnnotationType) {
+		for (AnnotationMirror annotation : pElement.getAnnotationMirrors()) {
+			final TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+			if (annotationType.getQualifiedName().contentEquals(pAnnotationType)) {
+				return annotation;
+			}
+		}
+		return null;
+	}
+
+	private void write(TypeElement pType, Member pConstructor, List<Member> pMembers) throws IOException {
+		final String packageName = processingEnv.getElementUtils().getPackageOf(pType).getQualifiedName().toString();
+		final String binaryName = processingEnv.getElementUtils().getBinaryName(pType).toString();
+		final String simpleName = (packageName.length() == 0 ? binaryName : binaryName.substring(packageName.length()+1))
+				+ IStaticInjector.CLASS_NAME_SUFFIX;
+		final String qName = packageName.length() == 0 ? simpleName : packageName + "." + simpleName;
+		final String typeName = erasure(pType.asType());
+		final JavaFileObject file = processingEnv.getFiler().createSourceFile(qName, pType);
+		final Writer w = file.openWriter();
+		try {
+			final PrintWriter pw = new PrintWriter(w);
+			if (packageName.length() > 0) {
+				pw.println("package " + packageName + ";");
+				pw.println();
+			}
+			pw.println("/**");
+			pw.println(" * Static injector for {@link " + typeName + "}.");
+			pw.println(" * Generated by " + getClass().getName() + ", do not edit.");
+			pw.println(" */");
+			pw.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+			final Class<?> interfaceType = pConstructor == null ? IStaticInjector.class : IStaticFactory.class;
+			pw.println("public final class " + simpleName + " implements "
+					+ interfaceType.getName() + "<" + typeName + "> {");
+			final String dependency = IStaticInjector.Dependency.class.getCanonicalName();
+			if (pConstructor != null) {
+				pw.println("\tprivate static final " + dependency + "[] CONSTRUCTOR_DEPENDENCIES = "
+						+ dependencies(pConstructor.parameters) + ";");
+			}
+			pw.println("\tprivate static final " + dependency + "[][] MEMBER_DEPENDENCIES = {");
+			for (int i = 0;  i < pMembers.size();  i++) {
+				pw.println("\t\t" + dependencies(pMembers.get(i).parameters) + (i+1 < pMembers.size() ? "," : ""));
+			}
+			pw.println("\t};");
+			pw.println();
+			if (pConstructor != null) {
+				pw.println("\t@Override");
+				pw.println("\tpublic " + dependency + "[] getConstructorDependencies() {");
+				pw.println("\t\treturn CONSTRUCTOR_DEPENDENCIES;");
+				pw.println("\t}");
+				pw.println();
+				pw.println("\t@Override");
+				pw.println("\tpublic " + typeName + " newInstance(Object[] pArgs) {");
+				pw.println("\t\treturn new " + typeName + "(" + arguments(pConstructor.parameters) + ");");
+				pw.println("\t}");
+				pw.println();
+			}
+			pw.println("\t@Override");
+			pw.println("\tpublic " + dependency + "[][] getMemberDependencies() {");
+			pw.println("\t\treturn MEMBER_DEPENDENCIES;");
+			pw.println("\t}");
+			pw.println();
+			pw.println("\t@Override");
+			pw.println("\tpublic void injectMember(" + typeName + " pInstance, int pIndex, Object[] pArgs) {");
+			pw.println("\t\tswitch (pIndex) {");
+			for (int i = 0;  i < pMembers.size();  i++) {
+				final Member member = pMembers.get(i);
+				final String memberName = member.element.getSimpleName().toString();
+				// Cast to the declaring class, because a subclass may hide a field.
+				final String instance = "((" + erasure(member.element.getEnclosingElement().asType()) + ") pInstance)";
+				pw.println("\t\tcase " + i + ":");
+				if (member.element.getKind() == ElementKind.FIELD) {
+					pw.println("\t\t\t" + instance + "." + memberName + " = " + arguments(member.parameters) + ";");
+				} else {
+					pw.println("\t\t\t" + instance + "." + memberName + "(" + arguments(member.parameters) + ");");
+				}
+				pw.println("\t\t\tbreak;");
+			}
+			pw.println("\t\tdefault:");
+			pw.println("\t\t\tthrow new IndexOutOfBoundsException(\"Invalid member index: \" + pIndex);");
+			pw.println("\t\t}");
+			pw.println("\t}");
+			pw.println("}");
+			pw.flush();
+		} finally {
+			w.close();
+		}
+	}
+
+	private String dependencies(List<VariableElement> pParameters) {
+		final StringBuilder sb = new StringBuilder("{");
+		for (int i = 0;  i < pParameters.size();  i++) {
+			final VariableElement parameter = pParameters.get(i);
+			final TypeMirror type = parameter.asType();
+			TypeMirror dependencyType = type;
+			boolean provider = false;
+			if (type.getKind() == TypeKind.DECLARED) {
+				final DeclaredType declaredType = (DeclaredType) type;
+				final TypeElement element = (TypeElement) declaredType.asElement();
+				if (element.getQualifiedName().contentEquals(PROVIDER)
+					&&  declaredType.getTypeArguments().size() == 1) {
+					// Same rule as in the Introspector: Only a Provider of a
+					// class, or a parameterized type without type variables,
+					// and wildcards is a Provider binding.
+					final TypeMirror typeArg = declaredType.getTypeArguments().get(0);
+					if (typeArg.getKind() == TypeKind.DECLARED  &&  type(typeArg) != null) {
+						dependencyType = typeArg;
+						provider = true;
+					}
+				}
+			}
+			if (i > 0) {
+				sb.append(", ");
+			}
+			final String typeExpression = type(dependencyType);
+			sb.append("new ").append(IStaticInjector.Dependency.class.getCanonicalName()).append('(');
+			sb.append(typeExpression == null ? erasure(dependencyType) + ".class" : typeExpression).append(", ");
+			sb.append(processingEnv.getElementUtils().getConstantExpression(getName(parameter)));
+			sb.append(", ").append(provider).append(')');
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * Returns an expression, which creates the given type at runtime, or
+	 * null, if the type contains type variables, or wildcards. (In that
+	 * case, the dependency is on the erasure.)
+	 */
+	private String type(TypeMirror pType) {
+		if (pType.getKind().isPrimitive()) {
+			return pType.toString() + ".class";
+		}
+		if (pType.getKind() == TypeKind.ARRAY) {
+			final TypeMirror componentType = ((ArrayType) pType).getComponentType();
+			if (componentType.getKind() == TypeKind.DECLARED
+				&&  !((DeclaredType) componentType).getTypeArguments().isEmpty()) {
+				// A generic array type, which isn't supported.
+				return null;
+			}
+			return erasure(pType) + ".class";
+		}
+		if (pType.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		final DeclaredType declaredType = (DeclaredType) pType;
+		final List<? extends TypeMirror> typeArgs = declaredType.getTypeArguments();
+		if (typeArgs.isEmpty()) {
+			return erasure(pType) + ".class";
+		}
+		final TypeMirror enclosingType = declaredType.getEnclosingType();
+		if (enclosingType.getKind() == TypeKind.DECLARED
+			&&  !((DeclaredType) enclosingType).getTypeArguments().isEmpty()) {
+			// An inner class of a parameterized type, which isn't supported.
+			return null;
+		}
+		final StringBuilder sb = new StringBuilder(Types.class.getCanonicalName());
+		sb.append(".newParameterizedType(").append(erasure(pType)).append(".class");
+		for (TypeMirror typeArg : typeArgs) {
+			final String typeExpression = type(typeArg);
+			if (typeExpression == null) {
+				return null;
+			}
+			sb.append(", ").append(typeExpression);
+		}
+		return sb.append(')').toString();
+	}
+
+	private String getName(VariableElement pElement) {
+		final AnnotationMirror named = getAnnotation(pElement, NAMED);
+		if (named != null) {
+			for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> en
+					: named.getElementValues().entrySet()) {
+				if (en.getKey().getSimpleName().contentEquals("value")) {
+					return String.valueOf(en.getValue().getValue());
+				}
+			}
+		}
+		return "";
+	}
+
+	private String arguments(List<VariableElement> pParameters) {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0;  i < pParameters.size();  i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			final TypeMirror type = pParameters.get(i).asType();
+			final String castType;
+			if (type.getKind().isPrimitive()) {
+				castType = processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+			} else {
+				castType = erasure(type);
+			}
+			sb.append('(').append(castType).append(") pArgs[").append(i).append(']');
+		}
+		return sb.toString();
+	}
+
+	private String erasure(TypeMirror pType) {
+		return processingEnv.getTypeUtils().erasure(pType).toString();
+	}
+}
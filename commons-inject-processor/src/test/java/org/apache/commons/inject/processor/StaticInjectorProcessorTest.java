@@ -0,0 +1,156 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.processor;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.IStaticFactory;
+import org.apache.commons.inject.api.IStaticInjector;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.api.bind.Scopes;
+import org.apache.commons.inject.impl.StaticInjectors;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Runs the {@link StaticInjectorProcessor} on the classes in src/test/samples,
+ * and injects them through the generated static injectors.
+ */
+public class StaticInjectorProcessorTest {
+	private static final String PACKAGE = "org.apache.commons.inject.processor.samples";
+
+	/**
+	 * Compiles the samples with the processor, and returns a class loader
+	 * for the compiled classes.
+	 */
+	private ClassLoader compileSamples() throws Exception {
+		return newClassLoader(compileSamplesTo());
+	}
+
+	/**
+	 * Compiles the samples with the processor, and returns the directory
+	 * with the compiled classes.
+	 */
+	private File compileSamplesTo() throws Exception {
+		final File baseDir = new File(System.getProperty("basedir", "."));
+		final File sourceDir = new File(baseDir, "src/test/samples/" + PACKAGE.replace('.', '/'));
+		final File targetDir = new File(baseDir, "target");
+		targetDir.mkdirs();
+		final File classesDir = Files.createTempDirectory(targetDir.toPath(), "samples-classes").toFile();
+		final File sourcesDir = Files.createTempDirectory(targetDir.toPath(), "samples-sources").toFile();
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+		try {
+			final List<String> options = Arrays.asList("-d", classesDir.getPath(), "-s", sourcesDir.getPath(),
+					"-classpath", getLocation(IStaticInjector.class) + File.pathSeparator + getLocation(Inject.class));
+			final CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+					fileManager.getJavaFileObjectsFromFiles(Arrays.asList(sourceDir.listFiles())));
+			task.setProcessors(Collections.singletonList(new StaticInjectorProcessor()));
+			Assert.assertTrue(diagnostics.getDiagnostics().toString(), task.call().booleanValue());
+		} finally {
+			fileManager.close();
+		}
+		return classesDir;
+	}
+
+	private ClassLoader newClassLoader(File pClassesDir) throws Exception {
+		return new URLClassLoader(new URL[]{ pClassesDir.toURI().toURL() }, getClass().getClassLoader());
+	}
+
+	private String getLocation(Class<?> pClass) throws Exception {
+		return new File(pClass.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+	}
+
+	@Test
+	public void testStaticFactory() throws Exception {
+		final Class<?> cl = compileSamples().loadClass(PACKAGE + ".StaticallyInjectedObject");
+		Assert.assertTrue(StaticInjectors.getInjector(cl) instanceof IStaticFactory);
+		final IInjector injector = CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(String.class).toInstance("constructor");
+				pBinder.bind(String.class, "field").toInstance("field");
+				pBinder.bind(Integer.class).toInstance(Integer.valueOf(42));
+				pBinder.bind(cl).scope(Scopes.PER_CALL);
+			}
+		});
+		final Object object = injector.requireInstance(cl);
+		Assert.assertEquals("constructor", cl.getField("constructorValue").get(object));
+		Assert.assertEquals("field", cl.getField("fieldValue").get(object));
+		final Provider<?> provider = (Provider<?>) cl.getField("methodValue").get(object);
+		Assert.assertEquals(Integer.valueOf(42), provider.get());
+	}
+
+	@Test
+	public void testSuperclassWithoutReflection() throws Exception {
+		final File classesDir = compileSamplesTo();
+		// Without the class Missing, any attempt to introspect SubObject fails.
+		Assert.assertTrue(new File(classesDir, PACKAGE.replace('.', '/') + "/Missing.class").delete());
+		final Class<?> cl = newClassLoader(classesDir).loadClass(PACKAGE + ".SubObject");
+		try {
+			cl.getDeclaredMethods();
+			Assert.fail("Expected NoClassDefFoundError");
+		} catch (NoClassDefFoundError e) {
+			// Okay
+		}
+		final IInjector injector = CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(String.class).toInstance("super");
+				pBinder.bind(Integer.class).toInstance(Integer.valueOf(42));
+				pBinder.bind(cl).scope(Scopes.PER_CALL);
+			}
+		});
+		final Object object = injector.requireInstance(cl);
+		Assert.assertEquals("super", cl.getField("superField").get(object));
+		Assert.assertEquals(Integer.valueOf(42), cl.getField("subField").get(object));
+		Assert.assertEquals(Arrays.asList("SuperObject.init", "SubObject.overridden"), cl.getField("calls").get(object));
+	}
+
+	@Test
+	public void testStaticInjectorWithoutFactory() throws Exception {
+		final Class<?> cl = compileSamples().loadClass(PACKAGE + ".AbstractInjectedObject");
+		final IStaticInjector<?> staticInjector = StaticInjectors.getInjector(cl);
+		Assert.assertNotNull(staticInjector);
+		Assert.assertFalse(staticInjector instanceof IStaticFactory);
+	}
+
+	@Test
+	public void testUnsupportedQualifier() throws Exception {
+		final Class<?> cl = compileSamples().loadClass(PACKAGE + ".QualifiedObject");
+		Assert.assertNull(StaticInjectors.getInjector(cl));
+	}
+}
@@ -0,0 +1,37 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.processor.samples;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+
+public class StaticallyInjectedObject {
+	public final String constructorValue;
+	@Inject @Named("field") public String fieldValue;
+	public Provider<Integer> methodValue;
+
+	@Inject
+	StaticallyInjectedObject(String pConstructorValue) {
+		constructorValue = pConstructorValue;
+	}
+
+	@Inject
+	void setMethodValue(Provider<Integer> pMethodValue) {
+		methodValue = pMethodValue;
+	}
+}
@@ -17,13 +17,18 @@
 package org.apache.commons.inject.api;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.inject.api.bind.IBinder;
 import org.apache.commons.inject.api.bind.IModule;
 import org.apache.commons.inject.api.bind.IBinder.IInjectionParticipator;
+import org.apache.commons.inject.impl.MethodHandleCompiler;
 import org.apache.commons.inject.util.Exceptions;
 
 /**
@@ -39,49 +44,109 @@ import org.apache.commons.inject.util.Exceptions;
  * The second example would create a logger with the id "LoggerId". The first
  * example would use the class name as a default value. (The class being that
  * class, which declares the field.
+ * Loggers are created once per id, and shared by all bindings. The
+ * annotated fields are looked up once per class.
  */
 public abstract class AbstractLoggerInjectingModule<Log> implements IModule {
+	/**
+	 * Injects a logger into a single field, preferably via a precompiled
+	 * setter.
+	 */
+	private static class LoggerPoint implements IPoint<Object> {
+		private final Field field;
+		private final MethodHandle setter;
+		private final Object logger;
+
+		LoggerPoint(Field pField, Object pLogger) {
+			field = pField;
+			setter = MethodHandleCompiler.compileSetter(pField);
+			logger = pLogger;
+		}
+
+		@Override
+		public void injectTo(Object pInstance, IInjector pInjector) {
+			try {
+				if (setter == null) {
+					if (!field.isAccessible()) {
+						field.setAccessible(true);
+					}
+					field.set(pInstance, logger);
+				} else {
+					setter.invokeExact(pInstance, logger);
+				}
+			} catch (Throwable t) {
+				throw Exceptions.show(t);
+			}
+		}
+	}
+
+	/**
+	 * The loggers, which have been created so far, by id. Shared by all bindings.
+	 */
+	private final ConcurrentMap<String, Log> loggers = new ConcurrentHashMap<String, Log>();
+	/**
+	 * The injection points per class, so that a class, which is bound multiple
+	 * times, is introspected only once. A ClassValue doesn't prevent the
+	 * classes (and their class loaders) from being unloaded.
+	 */
+	private final ClassValue<List<IPoint<Object>>> points = new ClassValue<List<IPoint<Object>>>() {
+		@Override
+		protected List<IPoint<Object>> computeValue(Class<?> pType) {
+			return newPoints(pType);
+		}
+	};
 
 	@Override
 	public void configure(IBinder pBinder) {
 		pBinder.add(new IInjectionParticipator() {
 			@Override
 			public List<IPoint<Object>> getPoints(IKey<?> pKey, Class<?> pType) {
-				final List<IPoint<Object>> points = new ArrayList<IPoint<Object>>();
-				final Field[] fields = pType.getDeclaredFields();
-				final Class<? extends Annotation> annotationClass = getAnnotationClass();
-				for (final Field f : fields) {
-					if (f.isAnnotationPresent(annotationClass)) {
-						final Annotation annotation = f.getAnnotation(annotationClass);
-						String id = getId(annotation, f.getDeclaringClass());
-						if (id == null  ||  id.length() == 0) {
-							id = f.getDeclaringClass().getName();
-						}
-						final Log logger = newLogger(id);
-						points.add(new IPoint<Object>(){
-							@Override
-							public void injectTo(Object pInstance,
-									IInjector pInjector) {
-								try {
-									if (!f.isAccessible()) {
-										f.setAccessible(true);
-									}
-									f.set(pInstance, logger);
-								} catch (Throwable t) {
-									throw Exceptions.show(t);
-								}
-							}
-						});
-					}
-				}
-				return points;
+				return points.get(pType);
 			}
 		});
 	}
 
+	private List<IPoint<Object>> newPoints(Class<?> pType) {
+		final List<IPoint<Object>> list = new ArrayList<IPoint<Object>>();
+		final Field[] fields = pType.getDeclaredFields();
+		final Class<? extends Annotation> annotationClass = getAnnotationClass();
+		for (final Field f : fields) {
+			if (f.isAnnotationPresent(annotationClass)) {
+				final Annotation annotation = f.getAnnotation(annotationClass);
+				String id = getId(annotation, f.getDeclaringClass());
+				if (id == null  ||  id.length() == 0) {
+					id = f.getDeclaringClass().getName();
+				}
+				list.add(new LoggerPoint(f, getLogger(id)));
+			}
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * Returns the logger with the given Id. The logger is created by invoking
+	 * {@link #newLogger(String)}, when it is requested for the first time.
+	 * @throws IllegalStateException {@link #newLogger(String)} returned null.
+	 */
+	protected Log getLogger(String pId) {
+		Log logger = loggers.get(pId);
+		if (logger == null) {
+			final Log newLogger = newLogger(pId);
+			if (newLogger == null) {
+				throw new IllegalStateException("No logger created for id: " + pId);
+			}
+			logger = loggers.putIfAbsent(pId, newLogger);
+			if (logger == null) {
+				logger = newLogger;
+			}
+		}
+		return logger;
+	}
 	/**
-	 * Creates a new logger with the given Id. Subclasses <em>must</em>
-	 * overwrite this to return a suitable logger implementation.
+	 * Creates a new logger with the given Id. Invoked by {@link #getLogger(String)}
+	 * at most once per Id (unless concurrently). Subclasses <em>must</em>
+	 * overwrite this to return a suitable logger implementation, which
+	 * must not be null.
 	 */
 	protected abstract Log newLogger(String pId);
 
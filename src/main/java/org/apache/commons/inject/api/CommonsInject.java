@@ -69,4 +69,22 @@ public class CommonsInject {
 	public static IInjectorBuilder newBuilder() {
 		return new DefaultInjectorBuilder();
 	}
+
+	/**
+	 * Creates a {@link IBuildProfiler build profiler}, which emits JDK Flight
+	 * Recorder events, so that the build of an injector can be analyzed together
+	 * with other JFR data. The profiler is loaded reflectively, because it
+	 * requires the {@code jdk.jfr} module, which isn't available on every JVM.
+	 * @return A new profiler, or null, if JFR isn't available.
+	 */
+	public static IBuildProfiler newJfrBuildProfiler() {
+		try {
+			final Class<?> cl = Class.forName("org.apache.commons.inject.jfr.JfrBuildProfiler");
+			return (IBuildProfiler) cl.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			return null;
+		} catch (LinkageError e) {
+			return null;
+		}
+	}
 }
@@ -0,0 +1,75 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.api;
+
+/**
+ * Runtime metrics of a single binding. Obtained via
+ * {@link IInjectorMetrics#getBindingMetrics()}. The values are updated
+ * concurrently, so they may be slightly inconsistent with each other.
+ */
+public interface IBindingMetrics {
+	/**
+	 * Returns a description of the bindings key.
+	 */
+	String getKey();
+
+	/**
+	 * Returns the number of instances, which have been requested from
+	 * the binding.
+	 */
+	long getCallCount();
+
+	/**
+	 * Returns the number of instances, which have actually been created by
+	 * the binding. For a singleton, this is typically 1, even if the call
+	 * count is much higher.
+	 */
+	long getCreationCount();
+
+	/**
+	 * Returns the number of creations, which have been timed. Depending on
+	 * the sampling interval, this may be a fraction of the creation count.
+	 */
+	long getSampledCreationCount();
+
+	/**
+	 * Returns the average time, in nanoseconds, of the timed creations,
+	 * including member injection. Returns 0, if no creation has been timed.
+	 */
+	double getMeanCreationNanos();
+
+	/**
+	 * Returns an estimate of the median time, in nanoseconds, of the timed
+	 * creations. The estimate is the upper bound of the histogram bucket,
+	 * which contains the median.
+	 */
+	long getMedianCreationNanos();
+
+	/**
+	 * Returns an estimate of the 99th percentile, in nanoseconds, of
+	 * the timed creations. The estimate is the upper bound of the histogram
+	 * bucket, which contains the percentile.
+	 */
+	long get99thPercentileCreationNanos();
+
+	/**
+	 * Returns a histogram of the timed creations: Element i is the number of
+	 * creations, which took at least 2^i, but less than 2^(i+1) nanoseconds.
+	 * (Element 0 includes creations, which took less than 1 nanosecond.)
+	 */
+	long[] getCreationNanosHistogram();
+}
@@ -0,0 +1,71 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.api;
+
+/**
+ * Interface of a build profiler: If a profiler is registered with the
+ * {@link IInjectorBuilder injector builder}, then it is notified about the
+ * time, and memory, which have been spent in the various phases of building
+ * an injector, and on the individual modules, and bindings.
+ * Measurements are inclusive: For example, the time for creating an eager
+ * singleton includes the time for creating other singletons on demand.
+ * In the phase {@link Phase#CREATE_EAGER_SINGLETONS}, the profiler may be
+ * invoked concurrently, if an executor is used.
+ * @see SimpleBuildProfiler
+ * @see CommonsInject#newJfrBuildProfiler()
+ */
+public interface IBuildProfiler {
+	/**
+	 * The phases of building an injector.
+	 */
+	public enum Phase {
+		/** Invoking the modules. Items are modules.
+		 */
+		CONFIGURE,
+		/** Creating the bindings, including introspection. Items are binding keys.
+		 */
+		CREATE_BINDINGS,
+		/** Resolving dependencies between the bindings. There are no items.
+		 */
+		RESOLVE,
+		/** Initializing the bindings. Items are binding keys.
+		 */
+		INITIALIZE,
+		/** Creating the instances of eager singletons. Items are binding keys.
+		 */
+		CREATE_EAGER_SINGLETONS
+	}
+
+	/**
+	 * Called, when a phase has been completed.
+	 * @param pPhase The completed phase.
+	 * @param pNanos The elapsed wall time in nanoseconds.
+	 * @param pAllocatedBytes The number of bytes, which have been allocated by
+	 *   the building thread, or -1, if the JVM doesn't support measuring that.
+	 */
+	void phaseCompleted(Phase pPhase, long pNanos, long pAllocatedBytes);
+
+	/**
+	 * Called, when an item (a module, or a binding) has been processed.
+	 * @param pPhase The phase, in which the item has been processed.
+	 * @param pItem Description of the item.
+	 * @param pNanos The elapsed wall time in nanoseconds.
+	 * @param pAllocatedBytes The number of bytes, which have been allocated by
+	 *   the current thread, or -1, if the JVM doesn't support measuring that.
+	 */
+	void itemCompleted(Phase pPhase, String pItem, long pNanos, long pAllocatedBytes);
+}
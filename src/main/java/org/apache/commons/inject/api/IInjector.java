@@ -16,6 +16,10 @@
 */
 package org.apache.commons.inject.api;
 
+import java.lang.reflect.Array;
+
+import org.apache.commons.inject.util.Generics;
+
 /**
  * The {@link IInjector injector} is used to build objects for your application.
  * It does so by maintaining a map of {@link IKey keys} and associated
@@ -130,6 +134,134 @@ public interface IInjector {
 	 */
 	<T> T requireInstance(IKey<T> pKey) throws NoSuchBindingException;
 
+	/**
+	 * Returns the given number of instances of {@code pType}, if a matching
+	 * binding is present. The binding is looked up only once, so this is
+	 * faster than invoking {@link #getInstance(Class)} repeatedly. Whether
+	 * the array contains distinct instances depends on the bindings scope.
+	 * @param pType The requested type.
+	 * @param pCount The number of instances, which are being created.
+	 * @return The created instances, or null.
+	 * @see #getInstances(IKey, int)
+	 * @see #requireInstances(Class, int)
+	 */
+	default <T> T[] getInstances(Class<T> pType, int pCount) {
+		return getInstances(new Key<T>(pType), pCount);
+	}
+	/**
+	 * Returns the given number of instances of the binding, that has been
+	 * registered for the given key. The binding is looked up only once, so
+	 * this is faster than invoking {@link #getInstance(IKey)} repeatedly.
+	 * @param pKey A binding key, for which a binding has been registered.
+	 * @param pCount The number of instances, which are being created.
+	 * @return The created instances, or null.
+	 * @see #getInstances(Class, int)
+	 * @see #requireInstances(IKey, int)
+	 */
+	default <T> T[] getInstances(IKey<T> pKey, int pCount) {
+		// The default implementation looks up the binding for every instance.
+		if (pCount < 0) {
+			throw new IllegalArgumentException("The number of instances must not be negative.");
+		}
+		final T[] instances = Generics.cast(Array.newInstance(pKey.getType(), pCount));
+		for (int i = 0;  i < pCount;  i++) {
+			final T instance = getInstance(pKey);
+			if (instance == null) {
+				return null;
+			}
+			instances[i] = instance;
+		}
+		return instances;
+	}
+	/**
+	 * Returns the given number of instances of {@code pType}. The binding
+	 * is looked up only once, so this is faster than invoking
+	 * {@link #requireInstance(Class)} repeatedly.
+	 * @param pType The requested type.
+	 * @param pCount The number of instances, which are being created.
+	 * @return The created instances.
+	 * @throws NoSuchBindingException No matching binding has been registered with
+	 * the injector.
+	 * @see #getInstances(Class, int)
+	 * @see #requireInstances(IKey, int)
+	 */
+	default <T> T[] requireInstances(Class<T> pType, int pCount) throws NoSuchBindingException {
+		return requireInstances(new Key<T>(pType), pCount);
+	}
+	/**
+	 * Returns the given number of instances of the binding, that has been
+	 * registered for the given key. The binding is looked up only once, so
+	 * this is faster than invoking {@link #requireInstance(IKey)} repeatedly.
+	 * @param pKey A binding key, for which a binding has been registered.
+	 * @param pCount The number of instances, which are being created.
+	 * @return The created instances.
+	 * @throws NoSuchBindingException No matching binding has been registered with
+	 * the injector.
+	 * @see #getInstances(IKey, int)
+	 * @see #requireInstances(Class, int)
+	 */
+	default <T> T[] requireInstances(IKey<T> pKey, int pCount) throws NoSuchBindingException {
+		// The default implementation looks up the binding for every instance.
+		if (pCount < 0) {
+			throw new IllegalArgumentException("The number of instances must not be negative.");
+		}
+		final T[] instances = Generics.cast(Array.newInstance(pKey.getType(), pCount));
+		for (int i = 0;  i < pCount;  i++) {
+			instances[i] = requireInstance(pKey);
+		}
+		return instances;
+	}
+
+	/**
+	 * Returns a provider for {@code pType}. This is a shortcut for
+	 * <pre>
+	 *   getProvider(new Key(pType))
+	 * </pre>
+	 * @param pType The requested type.
+	 * @return A provider, which creates instances of {@code pType}.
+	 * @throws NoSuchBindingException No matching binding has been registered with
+	 * the injector.
+	 * @see #getProvider(IKey)
+	 */
+	default <T> IProvider<T> getProvider(Class<T> pType) throws NoSuchBindingException {
+		return getProvider(new Key<T>(pType));
+	}
+	/**
+	 * Returns a provider for the binding that has been registered for the
+	 * given key. The binding is looked up only once, by this method:
+	 * The providers {@link IProvider#get()} method invokes the bindings
+	 * scoped provider directly, without looking up the binding again.
+	 * Applications, which request the same binding frequently, should
+	 * keep the provider, and use it instead of {@link #requireInstance(IKey)}.
+	 * @param pKey A binding key, for which a binding has been registered.
+	 * @return A provider, which creates instances of the bindings type.
+	 * @throws NoSuchBindingException No matching binding has been registered with
+	 * the injector.
+	 * @see #getProvider(Class)
+	 */
+	default <T> IProvider<T> getProvider(final IKey<T> pKey) throws NoSuchBindingException {
+		// The default implementation can't look up the binding in advance:
+		// It invokes requireInstance(IKey) for every instance, so a missing
+		// binding is reported by IProvider.get().
+		final IInjector injector = this;
+		return new IProvider<T>() {
+			@Override
+			public T get() {
+				return injector.requireInstance(pKey);
+			}
+
+			@Override
+			public Class<? extends T> getType() {
+				return pKey.getType();
+			}
+
+			@Override
+			public T get(IInjector pInjector) {
+				return get();
+			}
+		};
+	}
+
 	/**
 	 * Injects members into the given instance, as if it where created by
 	 * the {@link IInjector injector} itself. In other words, fills fields
@@ -137,4 +269,14 @@ public interface IInjector {
 	 * is present for those fields, and method parameters.
 	 */
 	void injectMembers(Object pInstance);
+
+	/**
+	 * Returns the injectors runtime metrics. The default implementation
+	 * returns null, for injectors, which don't collect metrics.
+	 * @return The metrics, or null, if metrics are disabled.
+	 * @see IInjectorBuilder#metrics(int)
+	 */
+	default IInjectorMetrics getMetrics() {
+		return null;
+	}
 }
@@ -17,6 +17,7 @@
 package org.apache.commons.inject.api;
 
 import java.util.Collection;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.inject.api.bind.IModule;
 
@@ -26,4 +27,82 @@ import org.apache.commons.inject.api.bind.IModule;
 public interface IInjectorBuilder {
 	IInjectorBuilder modules(IModule... pModules);
 	IInjectorBuilder modules(Collection<IModule> pModules);
+
+	/**
+	 * Sets the executor, which is being used to create the instances of
+	 * eager singletons. By default (null), eager singletons are created
+	 * sequentially by the thread, which builds the injector. If an executor
+	 * is set, then singletons, which don't depend on each other, are created
+	 * concurrently. A singleton is always created after the singletons, on
+	 * which it depends. The default implementation ignores the executor,
+	 * for builders, which always create eager singletons sequentially.
+	 * @param pExecutor The executor, or null to restore the default.
+	 * @return This builder.
+	 */
+	default IInjectorBuilder eagerSingletonExecutor(Executor pExecutor) {
+		return this;
+	}
+
+	/**
+	 * Sets a profiler, which is being notified about the time, and memory,
+	 * which are spent while building the injector. The default implementation
+	 * ignores the profiler, for builders, which don't support profiling.
+	 * @param pProfiler The profiler, or null (default) to disable profiling.
+	 * @return This builder.
+	 */
+	default IInjectorBuilder profiler(IBuildProfiler pProfiler) {
+		return this;
+	}
+
+	/**
+	 * Enables, or disables, the collection of {@link IInjectorMetrics runtime
+	 * metrics}. Call, and creation counts are always recorded, if metrics are
+	 * enabled. Creation times are only sampled, in order to keep the overhead
+	 * low. If metrics are disabled (the default), then there is no overhead at all.
+	 * The default implementation only validates the argument, for builders,
+	 * whose injectors don't collect metrics, and return null from
+	 * {@link IInjector#getMetrics()}.
+	 * @param pSamplingInterval 0 (default) disables metrics. Otherwise, on
+	 *   average, every n-th creation is timed. Use 1 to time all creations.
+	 * @return This builder.
+	 * @throws IllegalArgumentException The sampling interval is negative.
+	 */
+	default IInjectorBuilder metrics(int pSamplingInterval) {
+		if (pSamplingInterval < 0) {
+			throw new IllegalArgumentException("The sampling interval must not be negative.");
+		}
+		return this;
+	}
+
+	/**
+	 * Sets the parent injector. A child injector uses the parents bindings,
+	 * including the singleton instances, for all keys, which aren't bound
+	 * by the childs own modules. The childs modules may add bindings, or
+	 * override bindings of the parent. Overriding affects the child only:
+	 * The parents bindings continue to use the parents dependencies.
+	 * Only the childs own bindings are built, so creating a child with a
+	 * few bindings is cheap, regardless of the size of the parent. Note,
+	 * that listeners, and participators, which have been registered by
+	 * the parents modules, don't apply to the childs bindings.
+	 * @param pParent The parent injector, or null (default) to create
+	 *   an injector without parent.
+	 * @return This builder.
+	 * @throws IllegalArgumentException The parent injector wasn't created
+	 *   by an injector builder.
+	 * @throws UnsupportedOperationException The builder doesn't support
+	 *   child injectors. This is the case for the default implementation,
+	 *   unless the parent is null.
+	 */
+	default IInjectorBuilder parent(IInjector pParent) {
+		if (pParent != null) {
+			throw new UnsupportedOperationException("Child injectors are not supported by " + getClass().getName());
+		}
+		return this;
+	}
+
+	/**
+	 * Creates the injector.
+	 * @return A new {@link IInjector injector}.
+	 */
+	IInjector build();
 }
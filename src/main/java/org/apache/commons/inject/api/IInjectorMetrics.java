@@ -0,0 +1,55 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.api;
+
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectInstance;
+import javax.management.ObjectName;
+
+/**
+ * Runtime metrics of an {@link IInjector injector}. Metrics are disabled
+ * by default. To enable them, use {@link IInjectorBuilder#metrics(int)}.
+ * Metrics are collected for the bindings, which have been configured by
+ * the modules.
+ * @see IInjector#getMetrics()
+ */
+public interface IInjectorMetrics {
+	/**
+	 * Returns the metrics of all bindings.
+	 */
+	List<IBindingMetrics> getBindingMetrics();
+
+	/**
+	 * Returns the metrics of the binding with the given key.
+	 * @param pKey The bindings key.
+	 * @return The bindings metrics, or null, if no such binding is present.
+	 */
+	IBindingMetrics getBindingMetrics(IKey<?> pKey);
+
+	/**
+	 * Registers an {@link InjectorMetricsMXBean} with the given MBean server,
+	 * so that the metrics can be queried via JMX.
+	 * @param pServer The MBean server, typically the platform MBean server.
+	 * @param pName The MXBeans name.
+	 * @return The registered MXBean.
+	 * @throws JMException Registering the MXBean failed.
+	 */
+	ObjectInstance registerMBean(MBeanServer pServer, ObjectName pName) throws JMException;
+}
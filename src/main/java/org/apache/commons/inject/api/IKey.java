@@ -17,13 +17,28 @@
 package org.apache.commons.inject.api;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 
 /**
  * Binding key consisting of an injection type and an optional annotation.
  * Matches the type and annotation at a point of injection.
  */
 public interface IKey<T> {
+	/**
+	 * Returns the keys raw type, for example {@code List.class}, if the
+	 * {@link #getGenericType() generic type} is {@code List<String>}.
+	 */
 	Class<T> getType();
+	/**
+	 * Returns the keys generic type, for example {@code List<String>}.
+	 * This is the same as {@link #getType()}, if the key doesn't have
+	 * a parameterized type. The default implementation returns
+	 * {@link #getType()}, for compatibility with implementations, which
+	 * don't support parameterized types.
+	 */
+	default Type getGenericType() {
+		return getType();
+	}
 	String getName();
 	Annotation[] getAnnotations();
 }
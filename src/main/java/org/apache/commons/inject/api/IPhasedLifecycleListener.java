@@ -0,0 +1,34 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.api;
+
+/**
+ * A {@link ILifecycleListener lifecycle listener}, which declares a phase.
+ * Listeners are started in ascending order of their phase, and shut down
+ * in descending order. Phased listeners within the same phase are considered
+ * independent of each other, so the {@link ILifecycleController} may start,
+ * or shut them down, in parallel. Listeners, which don't implement this
+ * interface, are treated as belonging to phase 0, and are always started
+ * one after another (after the phased listeners of phase 0), in the order
+ * of registration.
+ */
+public interface IPhasedLifecycleListener extends ILifecycleListener {
+	/**
+	 * Returns the listeners phase.
+	 */
+	int getPhase();
+}
@@ -0,0 +1,39 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.api;
+
+/**
+ * Interface of a generated {@link IStaticInjector}, which creates instances
+ * of {@code T}, too. The annotation processor implements this interface,
+ * if {@code T} has an injectable constructor: Either a constructor, which
+ * is annotated with {@link javax.inject.Inject}, or a default constructor.
+ * Otherwise, instances are created via reflection.
+ */
+public interface IStaticFactory<T> extends IStaticInjector<T> {
+	/**
+	 * Returns the dependencies of the constructor, which is used by
+	 * {@link #newInstance(Object[])}.
+	 */
+	Dependency[] getConstructorDependencies();
+
+	/**
+	 * Creates a new instance by invoking the constructor.
+	 * @param pArgs The constructor parameters, as described by
+	 *   {@link #getConstructorDependencies()}.
+	 */
+	T newInstance(Object[] pArgs);
+}
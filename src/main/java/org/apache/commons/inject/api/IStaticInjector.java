@@ -0,0 +1,123 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.api;
+
+import java.lang.reflect.Type;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+
+import org.apache.commons.inject.util.Types;
+
+/**
+ * Interface of a generated class, which injects members into instances
+ * of {@code T}, without using reflection. Such classes
+ * are created at compile time by the annotation processor in the module
+ * {@code commons-inject-processor}. For a class {@code com.foo.Bar}, the
+ * generated class is {@code com.foo.Bar_CommonsInjector}, see
+ * {@link #CLASS_NAME_SUFFIX}. If such a class is present, then it will
+ * be used instead of introspecting {@code com.foo.Bar}. If the generated
+ * class is able to create instances, too, then it implements
+ * {@link IStaticFactory}.
+ */
+public interface IStaticInjector<T> {
+	/**
+	 * Suffix, which is appended to the binary class name of an injectable
+	 * class, to get the name of the generated {@link IStaticInjector}.
+	 */
+	public static final String CLASS_NAME_SUFFIX = "_CommonsInjector";
+
+	/**
+	 * Describes a value, which must be supplied by the {@link IInjector}
+	 * to a constructor, method, or field.
+	 */
+	public static class Dependency {
+		private final Class<?> type;
+		private final Type genericType;
+		private final String name;
+		private final boolean provider;
+
+		/**
+		 * Creates a new instance.
+		 * @param pType The type of the required binding.
+		 * @param pName The {@link Named name} of the required binding, or
+		 *   {@link Key#NO_NAME}.
+		 * @param pProvider True, if the value is a {@link Provider} of
+		 *   {@code pType}, rather than an instance of {@code pType}.
+		 */
+		public Dependency(Class<?> pType, String pName, boolean pProvider) {
+			type = pType;
+			genericType = pType;
+			name = pName == null ? Key.NO_NAME : pName;
+			provider = pProvider;
+		}
+
+		/**
+		 * Creates a new instance with a generic type, for example
+		 * {@code List<String>}.
+		 * @param pType The generic type of the required binding.
+		 * @param pName The {@link Named name} of the required binding, or
+		 *   {@link Key#NO_NAME}.
+		 * @param pProvider True, if the value is a {@link Provider} of
+		 *   {@code pType}, rather than an instance of {@code pType}.
+		 */
+		public Dependency(Type pType, String pName, boolean pProvider) {
+			genericType = Types.canonicalize(pType);
+			type = Types.getRawType(genericType);
+			name = pName == null ? Key.NO_NAME : pName;
+			provider = pProvider;
+		}
+
+		public Class<?> getType() {
+			return type;
+		}
+
+		/**
+		 * Returns the generic type of the required binding. This is the
+		 * same as {@link #getType()}, unless the type is parameterized.
+		 */
+		public Type getGenericType() {
+			return genericType;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public boolean isProvider() {
+			return provider;
+		}
+	}
+
+	/**
+	 * Returns the dependencies of the fields, and methods, which are
+	 * annotated with {@link Inject}. For a field, the array has exactly
+	 * one element, for a method, there is one element per parameter.
+	 * The members of the superclasses are included, and come first, in
+	 * the order of injection. Overridden methods are excluded.
+	 */
+	Dependency[][] getMemberDependencies();
+
+	/**
+	 * Injects values into a field, or invokes a method.
+	 * @param pInstance The object, which is being injected.
+	 * @param pIndex The members index in {@link #getMemberDependencies()}.
+	 * @param pArgs The values, as described by the members dependencies.
+	 */
+	void injectMember(T pInstance, int pIndex, Object[] pArgs);
+}
@@ -18,32 +18,47 @@ package org.apache.commons.inject.api;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+import org.apache.commons.inject.util.AnnotationSet;
+import org.apache.commons.inject.util.Generics;
+import org.apache.commons.inject.util.Types;
 
 /**
- * Default implementation of {@link IKey}.
+ * Default implementation of {@link IKey}. A key with a parameterized
+ * type can be created by passing the type to {@link #Key(Type, String)},
+ * or by creating an anonymous subclass:
+ * <pre>
+ *   IKey&lt;List&lt;String&gt;&gt; key = new Key&lt;List&lt;String&gt;&gt;(){};
+ * </pre>
  */
 public class Key<T> implements IKey<T> {
 	public static final String NO_NAME = "";
 	public static final Annotation[] NO_ANNOTATIONS = (Annotation[]) Array.newInstance(Annotation.class, 0);
 	private final Class<T> type;
+	private final Type genericType;
 	private final String name;
 	private final Annotation[] annotations;
+	private AnnotationSet annotationSet;
 
-	public Key(Class<T> pType, String pName, Annotation[] pAnnotations) {
+	/**
+	 * Creates a new instance with the given raw type, and generic type.
+	 * The generic type must have been {@link Types#canonicalize(Type)
+	 * canonicalized}.
+	 */
+	protected Key(Class<T> pType, Type pGenericType, String pName, Annotation[] pAnnotations) {
 		if (pType == null) {
 			throw new NullPointerException("The keys type must not be null.");
 		}
 		this.type = pType;
-		if (pName == null) {
-			name = NO_NAME;
-		} else {
-			name = pName;
-		}
-		if (pAnnotations == null) {
-			annotations = NO_ANNOTATIONS;
-		} else {
-			annotations = pAnnotations;
-		}
+		genericType = pGenericType;
+		name = pName == null ? NO_NAME : pName;
+		annotations = pAnnotations == null ? NO_ANNOTATIONS : pAnnotations;
+	}
+
+	public Key(Class<T> pType, String pName, Annotation[] pAnnotations) {
+		this(pType, pType, pName, pAnnotations);
 	}
 
 	public Key(Class<T> pType, String pName) {
@@ -54,11 +69,63 @@ public class Key<T> implements IKey<T> {
 		this(pType, NO_NAME, NO_ANNOTATIONS);
 	}
 
+	/**
+	 * Creates a new instance with the given generic type, for example
+	 * {@code List<String>}.
+	 */
+	public Key(Type pType, String pName, Annotation[] pAnnotations) {
+		this(Generics.<Class<T>>cast(getRawType(pType)), Types.canonicalize(pType), pName, pAnnotations);
+	}
+
+	/**
+	 * Creates a new instance with the given generic type, for example
+	 * {@code List<String>}.
+	 */
+	public Key(Type pType, String pName) {
+		this(pType, pName, NO_ANNOTATIONS);
+	}
+
+	/**
+	 * Creates a new instance with the type argument of an anonymous subclass
+	 * as the generic type.
+	 */
+	protected Key() {
+		this(NO_NAME);
+	}
+
+	/**
+	 * Creates a new instance with the type argument of an anonymous subclass
+	 * as the generic type, and the given name.
+	 */
+	protected Key(String pName) {
+		final Type superType = getClass().getGenericSuperclass();
+		if (!(superType instanceof ParameterizedType)) {
+			throw new IllegalStateException("The keys type must be specified as a type argument,"
+					+ " as in new Key<List<String>>(){}.");
+		}
+		genericType = Types.canonicalize(((ParameterizedType) superType).getActualTypeArguments()[0]);
+		type = Generics.cast(Types.getRawType(genericType));
+		name = pName == null ? NO_NAME : pName;
+		annotations = NO_ANNOTATIONS;
+	}
+
+	private static Class<?> getRawType(Type pType) {
+		if (pType == null) {
+			throw new NullPointerException("The keys type must not be null.");
+		}
+		return Types.getRawType(pType);
+	}
+
 	@Override
 	public Class<T> getType() {
 		return type;
 	}
 
+	@Override
+	public Type getGenericType() {
+		return genericType;
+	}
+
 	@Override
 	public String getName() {
 		return name;
@@ -69,6 +136,21 @@ public class Key<T> implements IKey<T> {
 		return annotations;
 	}
 
+	/**
+	 * Returns the keys annotations as a set, or null, if the
+	 * annotations contain null values. The set is computed lazily,
+	 * and cached for subsequent lookups.
+	 */
+	public AnnotationSet getAnnotationSet() {
+		AnnotationSet set = annotationSet;
+		if (set == null) {
+			// A race is harmless here: The set is immutable.
+			set = AnnotationSet.valueOf(annotations);
+			annotationSet = set;
+		}
+		return set;
+	}
+
 	@Override
 	public String toString() {
 		return toString(this);
@@ -77,7 +159,7 @@ public class Key<T> implements IKey<T> {
 	public static String toString(IKey<?> pKey) {
 		final StringBuilder sb = new StringBuilder();
 		sb.append("Type=");
-		sb.append(pKey.getType().getName());
+		sb.append(Types.toString(pKey.getGenericType()));
 		final String name = pKey.getName();
 		if (name.length() > 0) {
 			sb.append(", Name=");
@@ -17,7 +17,17 @@
 package org.apache.commons.inject.api;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -26,10 +36,256 @@ import org.apache.commons.inject.api.bind.IBinder;
 import org.apache.commons.inject.api.bind.IModule;
 import org.apache.commons.inject.api.bind.IBinder.IInjectionListener;
 import org.apache.commons.inject.impl.DefaultLifecycleController;
+import org.apache.commons.inject.impl.MethodHandleCompiler;
 import org.apache.commons.inject.util.Exceptions;
+import org.apache.commons.inject.util.Methods;
 
+/**
+ * A module, which invokes the methods annotated with {@link PostConstruct},
+ * and {@link PreDestroy}, when the {@link ILifecycleController lifecycle}
+ * is started, or shut down. The annotated methods are looked up once per
+ * class, including the superclasses, and invoked via method handles.
+ * Superclass methods are invoked first, and methods, which are overridden
+ * in a subclass, are ignored.
+ * <p>
+ * By default, the lifecycle controller keeps every object with lifecycle
+ * methods reachable until the shutdown. This is fine for singletons, but
+ * leaks memory, if many short lived objects (for example, with scope
+ * {@link org.apache.commons.inject.api.bind.Scopes#PER_CALL}) have
+ * {@link PreDestroy} methods. In {@link #setWeakTracking(boolean) weak tracking}
+ * mode, objects are referenced weakly instead: An object, which has been
+ * garbage collected, is silently removed from the controller, and its
+ * {@link PreDestroy} methods are <em>not</em> invoked, because the object
+ * no longer exists. Objects, which are still reachable at shutdown, are
+ * destroyed as usual.
+ */
 public class PostConstructModule implements IModule {
+	private static final Object[] NO_ARGS = new Object[0];
+	/**
+	 * The lifecycle methods per class. Classes without lifecycle methods
+	 * are mapped to {@link LifecycleMethods#NONE}, so that they, too, are
+	 * introspected only once.
+	 */
+	private static final ClassValue<LifecycleMethods> lifecycleMethods = new ClassValue<LifecycleMethods>() {
+		@Override
+		protected LifecycleMethods computeValue(Class<?> pType) {
+			return LifecycleMethods.valueOf(pType);
+		}
+	};
+
+	/**
+	 * A lifecycle method, together with the compiled handle, if available.
+	 */
+	private static class LifecycleMethod {
+		private final Method method;
+		private final MethodHandle handle;
+
+		LifecycleMethod(Method pMethod) {
+			method = pMethod;
+			handle = MethodHandleCompiler.compile(pMethod);
+		}
+
+		void invoke(Object pObject) throws Throwable {
+			if (handle == null) {
+				if (!method.isAccessible()) {
+					method.setAccessible(true);
+				}
+				method.invoke(pObject);
+			} else {
+				try {
+					handle.invokeExact(pObject, NO_ARGS);
+				} catch (Throwable t) {
+					throw new InvocationTargetException(t);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The lifecycle methods of a class, and its superclasses.
+	 */
+	private static class LifecycleMethods {
+		private static final LifecycleMethod[] NO_METHODS = new LifecycleMethod[0];
+		static final LifecycleMethods NONE = new LifecycleMethods(NO_METHODS, NO_METHODS);
+		private final LifecycleMethod[] postConstructMethods;
+		private final LifecycleMethod[] preDestroyMethods;
+
+		private LifecycleMethods(LifecycleMethod[] pPostConstructMethods, LifecycleMethod[] pPreDestroyMethods) {
+			postConstructMethods = pPostConstructMethods;
+			preDestroyMethods = pPreDestroyMethods;
+		}
+
+		static LifecycleMethods valueOf(Class<?> pType) {
+			final Class<?> superClass = pType.getSuperclass();
+			final LifecycleMethods superMethods;
+			if (superClass == null  ||  superClass == Object.class) {
+				superMethods = NONE;
+			} else {
+				superMethods = lifecycleMethods.get(superClass);
+			}
+			final Method[] declaredMethods = pType.getDeclaredMethods();
+			final LifecycleMethod[] postConstructs = getMethods(superMethods.postConstructMethods, declaredMethods, PostConstruct.class);
+			final LifecycleMethod[] preDestroys = getMethods(superMethods.preDestroyMethods, declaredMethods, PreDestroy.class);
+			if (postConstructs.length == 0  &&  preDestroys.length == 0) {
+				return NONE;
+			}
+			return new LifecycleMethods(postConstructs, preDestroys);
+		}
+
+		private static LifecycleMethod[] getMethods(LifecycleMethod[] pSuperMethods, Method[] pDeclaredMethods,
+				Class<? extends Annotation> pAnnotationType) {
+			final List<LifecycleMethod> list = new ArrayList<LifecycleMethod>(pSuperMethods.length + 1);
+			for (LifecycleMethod superMethod : pSuperMethods) {
+				if (!Methods.isOverridden(superMethod.method, pDeclaredMethods)) {
+					list.add(superMethod);
+				}
+			}
+			for (Method method : pDeclaredMethods) {
+				if (!Modifier.isStatic(method.getModifiers())  &&  method.isAnnotationPresent(pAnnotationType)) {
+					list.add(new LifecycleMethod(method));
+				}
+			}
+			if (list.isEmpty()) {
+				return NO_METHODS;
+			}
+			return list.toArray(new LifecycleMethod[list.size()]);
+		}
+	}
+
+	/**
+	 * Invokes the lifecycle methods of a single object.
+	 */
+	private static class LifecycleListener implements ILifecycleListener {
+		private final LifecycleMethods methods;
+		private final Object object;
+
+		LifecycleListener(LifecycleMethods pMethods, Object pObject) {
+			methods = pMethods;
+			object = pObject;
+		}
+
+		@Override
+		public void start() {
+			invoke(methods.postConstructMethods);
+		}
+
+		@Override
+		public void shutdown() {
+			invoke(methods.preDestroyMethods);
+		}
+
+		private void invoke(LifecycleMethod[] pMethods) {
+			try {
+				for (LifecycleMethod method : pMethods) {
+					method.invoke(object);
+				}
+			} catch (Throwable t) {
+				throw Exceptions.show(t);
+			}
+		}
+	}
+
+	/**
+	 * A lifecycle listener, which references its object weakly. The
+	 * reference is registered with a queue, so that the listener can be
+	 * removed from the controller, after the object has been collected.
+	 */
+	private static class WeakLifecycleListener extends WeakReference<Object> implements ILifecycleListener {
+		private final LifecycleMethods methods;
+		private final boolean tracked;
+
+		WeakLifecycleListener(LifecycleMethods pMethods, Object pObject, ReferenceQueue<Object> pQueue,
+				boolean pTracked) {
+			super(pObject, pQueue);
+			methods = pMethods;
+			tracked = pTracked;
+		}
+
+		@Override
+		public void start() {
+			final Object object = get();
+			if (object != null) {
+				if (methods == null) {
+					((ILifecycleListener) object).start();
+				} else {
+					new LifecycleListener(methods, object).start();
+				}
+			}
+		}
+
+		@Override
+		public void shutdown() {
+			final Object object = tracked ? get() : null;
+			if (object != null) {
+				if (methods == null) {
+					((ILifecycleListener) object).shutdown();
+				} else {
+					new LifecycleListener(methods, object).shutdown();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Added to the controller by {@link PostConstructModule#configure(IBinder)}.
+	 * Removes the listeners of collected objects, whenever the controller
+	 * is started, or shut down, and starts the objects, which aren't tracked
+	 * in {@link PostConstructModule#isWeakTracking() weak tracking} mode.
+	 * Such objects are never added to the controller: They are held weakly
+	 * by this listener until the controller is started, or started
+	 * immediately, if the controller is already running.
+	 */
+	private class TrackingListener implements ILifecycleListener {
+		private final ILifecycleController lcController;
+		private final Set<WeakLifecycleListener> untracked = new LinkedHashSet<WeakLifecycleListener>();
+		private boolean started;
+
+		TrackingListener(ILifecycleController pController) {
+			lcController = pController;
+		}
+
+		@Override
+		public void start() {
+			expunge(lcController);
+			final WeakLifecycleListener[] listeners;
+			synchronized (untracked) {
+				started = true;
+				listeners = untracked.toArray(new WeakLifecycleListener[untracked.size()]);
+				untracked.clear();
+			}
+			for (WeakLifecycleListener listener : listeners) {
+				listener.start();
+			}
+		}
+
+		@Override
+		public void shutdown() {
+			expunge(lcController);
+		}
+
+		void addUntracked(WeakLifecycleListener pListener) {
+			synchronized (untracked) {
+				if (!started) {
+					untracked.add(pListener);
+					return;
+				}
+			}
+			pListener.start();
+		}
+
+		void removeUntracked(WeakLifecycleListener pListener) {
+			synchronized (untracked) {
+				untracked.remove(pListener);
+			}
+		}
+	}
+
 	private ILifecycleController controller;
+	private boolean weakTracking;
+	private int maxTrackedInstances;
+	private final ReferenceQueue<Object> queue = new ReferenceQueue<Object>();
+	private final AtomicInteger trackedInstances = new AtomicInteger();
+	private TrackingListener trackingListener;
 
 	public ILifecycleController getLifecycleController() {
 		if (controller == null) {
@@ -42,64 +298,128 @@ public class PostConstructModule implements IModule {
 		controller = pController;
 	}
 
+	/**
+	 * Returns, whether objects are referenced weakly, so that they may be
+	 * garbage collected before the shutdown. Defaults to false.
+	 */
+	public boolean isWeakTracking() {
+		return weakTracking;
+	}
+
+	/**
+	 * Sets, whether objects are referenced weakly, so that they may be
+	 * garbage collected before the shutdown. Defaults to false. Note, that
+	 * the {@link PreDestroy} methods of a collected object aren't invoked.
+	 */
+	public void setWeakTracking(boolean pWeakTracking) {
+		weakTracking = pWeakTracking;
+	}
+
+	/**
+	 * Returns the maximum number of objects, which are tracked for
+	 * {@link PreDestroy} in {@link #isWeakTracking() weak tracking} mode,
+	 * or 0 (default) for no limit.
+	 */
+	public int getMaxTrackedInstances() {
+		return maxTrackedInstances;
+	}
+
+	/**
+	 * Sets the maximum number of objects, which are tracked for
+	 * {@link PreDestroy} in {@link #isWeakTracking() weak tracking} mode,
+	 * or 0 (default) for no limit. If the limit is reached, further objects
+	 * still receive {@link PostConstruct}, but not {@link PreDestroy}, and
+	 * they aren't added to the lifecycle controller.
+	 */
+	public void setMaxTrackedInstances(int pMaxTrackedInstances) {
+		if (pMaxTrackedInstances < 0) {
+			throw new IllegalArgumentException("The maximum number of tracked instances must not be negative.");
+		}
+		maxTrackedInstances = pMaxTrackedInstances;
+	}
+
 	@Override
 	public void configure(IBinder pBinder) {
 		final ILifecycleController lcController = getLifecycleController();
+		if (trackingListener == null  ||  trackingListener.lcController != lcController) {
+			trackingListener = new TrackingListener(lcController);
+			lcController.add(trackingListener);
+		}
 		pBinder.add(new IInjectionListener() {
 			@Override
 			public void initialized(IKey<?> pKey, Object pObject) {
-				final ILifecycleListener listener = getListenerFor(pObject);
-				if (listener != null  &&  listener != lcController) {
-					lcController.add(listener);
+				if (pObject == lcController) {
+					return;
+				}
+				if (weakTracking) {
+					expunge(lcController);
+					addWeakListener(lcController, pObject);
+				} else {
+					final ILifecycleListener listener = getListenerFor(pObject);
+					if (listener != null) {
+						lcController.add(listener);
+					}
 				}
 			}
 		});
 		pBinder.bind(ILifecycleController.class).toInstance(lcController);
 	}
 
-	protected ILifecycleListener getListenerFor(final Object pObject) {
-		if (pObject instanceof ILifecycleListener) {
-			return (ILifecycleListener) pObject;
-		}
-		final Method postConstructMethod = findMethod(PostConstruct.class, pObject.getClass());
-		final Method preDestroyMethod = findMethod(PreDestroy.class, pObject.getClass());
-		if (postConstructMethod == null  &&  preDestroyMethod == null) {
-			return null;
-		}
-		return new ILifecycleListener(){
-			@Override
-			public void start() {
-				invoke(postConstructMethod, pObject);
+	/**
+	 * Removes the listeners of collected objects from the controller.
+	 */
+	private void expunge(ILifecycleController pController) {
+		for (Object ref = queue.poll();  ref != null;  ref = queue.poll()) {
+			final WeakLifecycleListener listener = (WeakLifecycleListener) ref;
+			if (listener.tracked) {
+				trackedInstances.decrementAndGet();
+				pController.remove(listener);
+			} else {
+				trackingListener.removeUntracked(listener);
 			}
+		}
+	}
 
-			@Override
-			public void shutdown() {
-				invoke(preDestroyMethod, pObject);
+	private void addWeakListener(ILifecycleController pController, Object pObject) {
+		final LifecycleMethods methods;
+		if (pObject instanceof ILifecycleListener) {
+			methods = null;
+		} else {
+			methods = lifecycleMethods.get(pObject.getClass());
+			if (methods == LifecycleMethods.NONE) {
+				return;
 			}
-
-			private void invoke(Method pMethod, Object pObject) {
-				if (pMethod == null) {
+		}
+		final boolean tracked;
+		if (maxTrackedInstances == 0) {
+			tracked = true;
+			trackedInstances.incrementAndGet();
+		} else {
+			tracked = trackedInstances.incrementAndGet() <= maxTrackedInstances;
+			if (!tracked) {
+				trackedInstances.decrementAndGet();
+				if (methods != null  &&  methods.postConstructMethods.length == 0) {
+					// Nothing to do at all.
 					return;
 				}
-				try {
-					if (!pMethod.isAccessible()) {
-						pMethod.setAccessible(true);
-					}
-					pMethod.invoke(pObject);
-				} catch (Throwable t) {
-					throw Exceptions.show(t);
-				}
 			}
-		};
+		}
+		final WeakLifecycleListener listener = new WeakLifecycleListener(methods, pObject, queue, tracked);
+		if (tracked) {
+			pController.add(listener);
+		} else {
+			trackingListener.addUntracked(listener);
+		}
 	}
 
-	private Method findMethod(Class<? extends Annotation> pAnnotationClass, Class<?> pType) {
-		final Method[] methods = pType.getDeclaredMethods();
-		for (Method method : methods) {
-			if (method.isAnnotationPresent(pAnnotationClass)) {
-				return method;
-			}
+	protected ILifecycleListener getListenerFor(final Object pObject) {
+		if (pObject instanceof ILifecycleListener) {
+			return (ILifecycleListener) pObject;
+		}
+		final LifecycleMethods methods = lifecycleMethods.get(pObject.getClass());
+		if (methods == LifecycleMethods.NONE) {
+			return null;
 		}
-		return null;
+		return new LifecycleListener(methods, pObject);
 	}
 }
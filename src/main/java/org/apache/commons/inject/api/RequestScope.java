@@ -0,0 +1,122 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.api;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A request scope, also known as unit of work, is the lifetime of the
+ * instances, which are created by bindings with the scope
+ * {@link org.apache.commons.inject.api.bind.Scopes#REQUEST REQUEST}.
+ * A request scope is entered explicitly, and bound to the current thread,
+ * until it is exited:
+ * <pre>
+ *   try (RequestScope scope = RequestScope.enter()) {
+ *     MyRequestHandler handler = injector.requireInstance(MyRequestHandler.class);
+ *     handler.handle(request);
+ *   }
+ * </pre>
+ * Request scopes may be nested: Entering a request scope, while another one
+ * is active, suspends the outer scope until the inner scope is exited.
+ * A request scope is not thread safe, and must not be used by multiple
+ * threads.
+ */
+public class RequestScope implements AutoCloseable {
+	private static final ThreadLocal<RequestScope> currentScope = new ThreadLocal<RequestScope>();
+
+	private final RequestScope outerScope;
+	private final Map<Object, Object> instances = new HashMap<Object, Object>();
+	private boolean closed;
+
+	private RequestScope(RequestScope pOuterScope) {
+		outerScope = pOuterScope;
+	}
+
+	/**
+	 * Enters a new request scope, and binds it to the current thread.
+	 * @return The new request scope, which must be closed by the current
+	 *   thread in order to exit the scope.
+	 */
+	public static RequestScope enter() {
+		final RequestScope scope = new RequestScope(currentScope.get());
+		currentScope.set(scope);
+		return scope;
+	}
+
+	/**
+	 * Returns the request scope, which is currently bound to the current
+	 * thread.
+	 * @return The current request scope, or null.
+	 */
+	public static RequestScope getCurrent() {
+		return currentScope.get();
+	}
+
+	/**
+	 * Exits this request scope. If it has been nested into another scope,
+	 * then the other scope becomes the current scope again.
+	 * @throws IllegalStateException This scope is not the current scope.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		if (currentScope.get() != this) {
+			throw new IllegalStateException("Request scopes must be exited by the entering thread,"
+					+ " in the reverse order of entering.");
+		}
+		closed = true;
+		instances.clear();
+		if (outerScope == null) {
+			currentScope.remove();
+		} else {
+			currentScope.set(outerScope);
+		}
+	}
+
+	/**
+	 * Returns, whether this scope has been closed.
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Returns the instance, which has been stored with the given key.
+	 * This method is intended for use by scoped providers.
+	 * @param pKey The key, typically a scoped provider.
+	 * @return The stored instance, or null.
+	 */
+	public Object getInstance(Object pKey) {
+		return instances.get(pKey);
+	}
+
+	/**
+	 * Stores an instance with the given key.
+	 * This method is intended for use by scoped providers.
+	 * @param pKey The key, typically a scoped provider.
+	 * @param pInstance The instance to store.
+	 */
+	public void putInstance(Object pKey, Object pInstance) {
+		if (closed) {
+			throw new IllegalStateException("This request scope has already been closed.");
+		}
+		instances.put(pKey, pInstance);
+	}
+}
@@ -0,0 +1,156 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A simple {@link IBuildProfiler build profiler}, which collects the
+ * measurements in memory, and creates a report like this one:
+ * <pre>
+ *   Phase                        Time (ms)  Allocated (KB)
+ *   CONFIGURE                        1.234          56.789
+ *   ...
+ *   Slowest items                Time (ms)  Allocated (KB)
+ *   CREATE_EAGER_SINGLETONS        812.345         123.456  Type=com.foo.ConnectionPool
+ *   ...
+ * </pre>
+ * Example:
+ * <pre>
+ *   SimpleBuildProfiler profiler = new SimpleBuildProfiler();
+ *   IInjector injector = CommonsInject.newBuilder().modules(myModule)
+ *       .profiler(profiler).build();
+ *   System.out.println(profiler.getReport(20));
+ * </pre>
+ */
+public class SimpleBuildProfiler implements IBuildProfiler {
+	/**
+	 * A single measurement.
+	 */
+	public static class Measurement {
+		private final Phase phase;
+		private final String item;
+		private final long nanos, allocatedBytes;
+
+		Measurement(Phase pPhase, String pItem, long pNanos, long pAllocatedBytes) {
+			phase = pPhase;
+			item = pItem;
+			nanos = pNanos;
+			allocatedBytes = pAllocatedBytes;
+		}
+
+		public Phase getPhase() {
+			return phase;
+		}
+
+		/**
+		 * Returns the items description, or null, if this is the measurement
+		 * of a phase.
+		 */
+		public String getItem() {
+			return item;
+		}
+
+		public long getNanos() {
+			return nanos;
+		}
+
+		/**
+		 * Returns the number of allocated bytes, or -1, if unknown.
+		 */
+		public long getAllocatedBytes() {
+			return allocatedBytes;
+		}
+	}
+
+	private static final Comparator<Measurement> SLOWEST_FIRST = new Comparator<Measurement>(){
+		@Override
+		public int compare(Measurement pM1, Measurement pM2) {
+			return pM1.nanos < pM2.nanos ? 1 : (pM1.nanos == pM2.nanos ? 0 : -1);
+		}
+	};
+
+	private final ConcurrentLinkedQueue<Measurement> phases = new ConcurrentLinkedQueue<Measurement>();
+	private final ConcurrentLinkedQueue<Measurement> items = new ConcurrentLinkedQueue<Measurement>();
+
+	@Override
+	public void phaseCompleted(Phase pPhase, long pNanos, long pAllocatedBytes) {
+		phases.add(new Measurement(pPhase, null, pNanos, pAllocatedBytes));
+	}
+
+	@Override
+	public void itemCompleted(Phase pPhase, String pItem, long pNanos, long pAllocatedBytes) {
+		items.add(new Measurement(pPhase, pItem, pNanos, pAllocatedBytes));
+	}
+
+	/**
+	 * Returns the measurements of the phases, in the order of completion.
+	 */
+	public List<Measurement> getPhases() {
+		return new ArrayList<Measurement>(phases);
+	}
+
+	/**
+	 * Returns the measurements of the items, slowest first.
+	 */
+	public List<Measurement> getItems() {
+		final List<Measurement> list = new ArrayList<Measurement>(items);
+		Collections.sort(list, SLOWEST_FIRST);
+		return list;
+	}
+
+	/**
+	 * Returns a report of the phases, and the slowest items.
+	 * @param pMaxItems The maximum number of items in the report.
+	 */
+	public String getReport(int pMaxItems) {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(String.format(Locale.ENGLISH, "%-30s %10s %15s%n", "Phase", "Time (ms)", "Allocated (KB)"));
+		long totalNanos = 0;
+		for (Measurement m : getPhases()) {
+			append(sb, m);
+			totalNanos += m.nanos;
+		}
+		sb.append(String.format(Locale.ENGLISH, "%-30s %10.3f%n", "Total", totalNanos / 1000000.0));
+		sb.append(String.format(Locale.ENGLISH, "%n%-30s %10s %15s%n", "Slowest items", "Time (ms)", "Allocated (KB)"));
+		final List<Measurement> list = getItems();
+		for (int i = 0;  i < list.size()  &&  i < pMaxItems;  i++) {
+			append(sb, list.get(i));
+		}
+		return sb.toString();
+	}
+
+	private void append(StringBuilder pSb, Measurement pMeasurement) {
+		final String allocated;
+		if (pMeasurement.allocatedBytes == -1) {
+			allocated = "?";
+		} else {
+			allocated = String.format(Locale.ENGLISH, "%.3f", pMeasurement.allocatedBytes / 1024.0);
+		}
+		pSb.append(String.format(Locale.ENGLISH, "%-30s %10.3f %15s", pMeasurement.phase.name(),
+				pMeasurement.nanos / 1000000.0, allocated));
+		if (pMeasurement.item != null) {
+			pSb.append("  ").append(pMeasurement.item);
+		}
+		pSb.append(String.format("%n"));
+	}
+}
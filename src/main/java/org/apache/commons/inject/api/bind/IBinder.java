@@ -40,6 +40,28 @@ public interface IBinder {
 	<T> IAnnotatedBindingBuilder<T> bind(Class<T> pType);
 	<T> IAnnotatedBindingBuilder<T> bind(Class<T> pType, String pName);
 	<T> ILinkedBindingBuilder<T> bind(IKey<T> pKey);
+	/**
+	 * Returns a multibinder, which contributes elements to a {@code Set<T>}.
+	 * This is a shortcut for {@code bindSet(pElementType, Key.NO_NAME)}.
+	 */
+	<T> ISetBinder<T> bindSet(Class<T> pElementType);
+	/**
+	 * Returns a multibinder, which contributes elements to the {@code Set<T>}
+	 * with the given name. Invoking this method repeatedly, possibly from
+	 * different modules, with the same parameters, adds to the same set.
+	 */
+	<T> ISetBinder<T> bindSet(Class<T> pElementType, String pName);
+	/**
+	 * Returns a multibinder, which contributes entries to a {@code Map<K,V>}.
+	 * This is a shortcut for {@code bindMap(pKeyType, pValueType, Key.NO_NAME)}.
+	 */
+	<K,V> IMapBinder<K,V> bindMap(Class<K> pKeyType, Class<V> pValueType);
+	/**
+	 * Returns a multibinder, which contributes entries to the {@code Map<K,V>}
+	 * with the given name. Invoking this method repeatedly, possibly from
+	 * different modules, with the same parameters, adds to the same map.
+	 */
+	<K,V> IMapBinder<K,V> bindMap(Class<K> pKeyType, Class<V> pValueType, String pName);
 	boolean add(IInjectionListener pListener);
 	boolean add(IInjectorBuildListener pListener);
 	boolean add(IInjectionParticipator pParticipator);
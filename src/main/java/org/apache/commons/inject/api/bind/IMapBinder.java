@@ -0,0 +1,40 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.api.bind;
+
+import java.util.Map;
+
+/**
+ * A multibinder, which collects the entries of a {@link Map}. Any number
+ * of {@link IModule modules} may contribute entries to the same map, by
+ * invoking {@link IBinder#bindMap(Class, Class)} with the same key type,
+ * value type, and name. The injector binds an immutable {@code Map<K,V>},
+ * which contains the entries in the order of registration.
+ */
+public interface IMapBinder<K,V> {
+	/**
+	 * Adds an entry to the map. The value is specified like any other
+	 * binding, for example
+	 * <pre>
+	 *   mapBinder.addBinding("json").to(JsonHandler.class).asEagerSingleton();
+	 * </pre>
+	 * If all values are singletons, then the map is created only once,
+	 * and shared.
+	 * @param pKey The entries key, which must be unique within the map.
+	 */
+	ILinkedBindingBuilder<V> addBinding(K pKey);
+}
@@ -0,0 +1,40 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.api.bind;
+
+import org.apache.commons.inject.api.IKey;
+import org.apache.commons.inject.api.IProvider;
+
+/**
+ * Interface of a custom scope. A scope controls, when a binding creates a
+ * new instance, and when it reuses an existing instance. Custom scopes are
+ * applied by invoking {@link IScopedBindingBuilder#scope(IScope)}.
+ * @see PooledScope
+ */
+public interface IScope {
+	/**
+	 * Called while building the injector, once for every binding with this
+	 * scope.
+	 * @param pKey The bindings key.
+	 * @param pUnscoped A provider, which creates a new, fully injected,
+	 *   instance, whenever {@link IProvider#get()} is invoked. The
+	 *   provider must not be used before the injector has been built.
+	 * @return A provider, which implements the scope, typically by
+	 *   invoking {@code pUnscoped}, and caching the result.
+	 */
+	<T> IProvider<T> scope(IKey<T> pKey, IProvider<T> pUnscoped);
+}
@@ -21,6 +21,15 @@ package org.apache.commons.inject.api.bind;
  */
 public interface IScopedBindingBuilder<T> {
 	void scope(Scopes pScope);
+	/**
+	 * Applies a custom scope to the binding.
+	 * @param pScope The custom scope.
+	 * @throws UnsupportedOperationException The builder doesn't support
+	 *   custom scopes. This is the case for the default implementation.
+	 */
+	default void scope(IScope pScope) {
+		throw new UnsupportedOperationException("Custom scopes are not supported by " + getClass().getName());
+	}
 	void asEagerSingleton();
 	void asLazySingleton();
 }
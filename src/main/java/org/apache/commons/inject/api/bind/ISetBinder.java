@@ -0,0 +1,39 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.api.bind;
+
+import java.util.Set;
+
+/**
+ * A multibinder, which collects elements of a {@link Set}. Any number of
+ * {@link IModule modules} may contribute elements to the same set, by
+ * invoking {@link IBinder#bindSet(Class)} with the same element type, and
+ * name. The injector binds an immutable {@code Set<T>}, which contains the
+ * elements in the order of registration.
+ */
+public interface ISetBinder<T> {
+	/**
+	 * Adds an element to the set. The element is specified like any other
+	 * binding, for example
+	 * <pre>
+	 *   setBinder.addBinding().to(MyHandler.class).asEagerSingleton();
+	 * </pre>
+	 * If all elements are singletons, then the set is created only once,
+	 * and shared.
+	 */
+	ILinkedBindingBuilder<T> addBinding();
+}
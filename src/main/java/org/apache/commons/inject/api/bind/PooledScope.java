@@ -0,0 +1,185 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.api.bind;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.IKey;
+import org.apache.commons.inject.api.IProvider;
+import org.apache.commons.inject.impl.AbstractBindingSet.MappedKey;
+import org.apache.commons.inject.util.AnnotationSet;
+
+/**
+ * A {@link IScope scope}, which keeps a bounded pool of instances, that are
+ * expensive to create, like compressors, message digests, or large buffers.
+ * Requesting an instance takes an instance from the pool, or creates a
+ * new instance, if the pool is empty. Instances are returned to the pool
+ * by invoking {@link #release(Object)}. If the pool is full, then the
+ * released instance is discarded. The pool is lock free.
+ * <pre>
+ *   PooledScope digests = new PooledScope(16);
+ *   pBinder.bind(MessageDigest.class).to(digestProvider).scope(digests);
+ *   ...
+ *   MessageDigest md = injector.requireInstance(MessageDigest.class);
+ *   try {
+ *     ...
+ *   } finally {
+ *     md.reset();
+ *     digests.release(md);
+ *   }
+ * </pre>
+ * A pooled scope can be used by a single binding only. Create another
+ * instance for every pooled binding. (If multiple injectors are built from
+ * the same module, then they share the pool.)
+ */
+public class PooledScope implements IScope {
+	private final AtomicReferenceArray<Object> pool;
+	private IKey<?> key;
+
+	/**
+	 * Creates a new instance.
+	 * @param pMaxSize The maximum number of pooled instances.
+	 * @throws IllegalArgumentException The maximum size is not positive.
+	 */
+	public PooledScope(int pMaxSize) {
+		if (pMaxSize <= 0) {
+			throw new IllegalArgumentException("The maximum pool size must be positive.");
+		}
+		pool = new AtomicReferenceArray<Object>(pMaxSize);
+	}
+
+	@Override
+	public synchronized <T> IProvider<T> scope(IKey<T> pKey, final IProvider<T> pUnscoped) {
+		// The same binding may be scoped again, if multiple injectors are
+		// built from the same module.
+		if (key == null) {
+			key = pKey;
+		} else if (!isSameKey(key, pKey)) {
+			throw new IllegalStateException("This scope is already used by the binding with key "
+					+ key + ". Create another instance for the binding with key " + pKey + ".");
+		}
+		return new IProvider<T>(){
+			@Override
+			public T get() {
+				@SuppressWarnings("unchecked")
+				final T t = (T) acquire();
+				if (t == null) {
+					return pUnscoped.get();
+				}
+				return t;
+			}
+
+			@Override
+			public Class<? extends T> getType() {
+				return pUnscoped.getType();
+			}
+
+			@Override
+			public T get(IInjector pInjector) {
+				return get();
+			}
+		};
+	}
+
+	/**
+	 * Returns, whether the given keys denote the same binding: They must
+	 * have the same generic type, name, and annotations, and require the
+	 * same annotation type, if any.
+	 */
+	private static boolean isSameKey(IKey<?> pKey1, IKey<?> pKey2) {
+		if (!pKey1.getGenericType().equals(pKey2.getGenericType())
+			||  !pKey1.getName().equals(pKey2.getName())
+			||  getAnnotationType(pKey1) != getAnnotationType(pKey2)) {
+			return false;
+		}
+		final AnnotationSet annotations1 = AnnotationSet.valueOf(pKey1.getAnnotations());
+		final AnnotationSet annotations2 = AnnotationSet.valueOf(pKey2.getAnnotations());
+		if (annotations1 == null  ||  annotations2 == null) {
+			return Arrays.equals(pKey1.getAnnotations(), pKey2.getAnnotations());
+		}
+		return annotations1.equals(annotations2);
+	}
+
+	private static Class<? extends Annotation> getAnnotationType(IKey<?> pKey) {
+		if (pKey instanceof MappedKey) {
+			return ((MappedKey<?>) pKey).getAnnotationType();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the index, at which the current thread starts scanning
+	 * the pool. Different threads start at different indexes, which
+	 * reduces contention.
+	 */
+	private int getStartIndex() {
+		return (int) (Thread.currentThread().getId() % pool.length());
+	}
+
+	private Object acquire() {
+		final int length = pool.length();
+		final int start = getStartIndex();
+		for (int i = 0;  i < length;  i++) {
+			final int index = (start + i) % length;
+			if (pool.get(index) != null) {
+				final Object o = pool.getAndSet(index, null);
+				if (o != null) {
+					return o;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns an instance to the pool.
+	 * @param pInstance The instance, which is being released. The caller
+	 *   must not use the instance anymore.
+	 * @return True, if the instance has been added to the pool. False, if
+	 *   the pool is full, and the instance has been discarded.
+	 */
+	public boolean release(Object pInstance) {
+		if (pInstance == null) {
+			throw new NullPointerException("The released instance must not be null.");
+		}
+		final int length = pool.length();
+		final int start = getStartIndex();
+		for (int i = 0;  i < length;  i++) {
+			final int index = (start + i) % length;
+			if (pool.get(index) == null  &&  pool.compareAndSet(index, null, pInstance)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the number of instances, which are currently in the pool.
+	 */
+	public int getPoolSize() {
+		int size = 0;
+		for (int i = 0;  i < pool.length();  i++) {
+			if (pool.get(i) != null) {
+				size++;
+			}
+		}
+		return size;
+	}
+}
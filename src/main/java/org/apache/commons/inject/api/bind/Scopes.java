@@ -36,5 +36,25 @@ public enum Scopes {
 	 * which is injected whenever the binding is used to inject a value. The
 	 * instance will be created as soon as required.
 	 */
-	LAZY_SINGLETON
+	LAZY_SINGLETON,
+	/**
+	 * A binding with scope {@code THREAD} will create one instance per thread,
+	 * which is injected whenever the binding is used to inject a value in that
+	 * thread. Use this for objects, which are expensive to create, but not
+	 * thread safe, like parsers, or buffers. Note, that every virtual thread
+	 * gets its own instance, too: If your application uses many short lived
+	 * virtual threads, then consider a {@link PooledScope} instead.
+	 * There is no way to discard the instance of a thread: It is held,
+	 * until the thread terminates. In particular, the threads of a thread
+	 * pool keep their instances forever. For objects, which must be
+	 * released after a unit of work, use {@link #REQUEST} instead.
+	 */
+	THREAD,
+	/**
+	 * A binding with scope {@code REQUEST} will create one instance per
+	 * {@link org.apache.commons.inject.api.RequestScope request scope}, which
+	 * is injected whenever the binding is used to inject a value within that
+	 * request. Using the binding outside of a request scope is an error.
+	 */
+	REQUEST
 }
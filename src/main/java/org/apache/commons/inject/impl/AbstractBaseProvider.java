@@ -16,6 +16,9 @@
 */
 package org.apache.commons.inject.impl;
 
+import java.util.Collection;
+
+import org.apache.commons.inject.api.IBinding;
 import org.apache.commons.inject.api.IInjector;
 import org.apache.commons.inject.api.IPoint;
 import org.apache.commons.inject.api.IProvider;
@@ -27,7 +30,7 @@ import org.apache.commons.inject.api.IProvider;
  * the injection of values, is delegated to the base provider. ({@code How} is
  * the instance created?)
  */
-public abstract class AbstractBaseProvider<T> implements IProvider<T>, IInjectorAware {
+public abstract class AbstractBaseProvider<T> implements IProvider<T>, IInjectorAware, IDependencyAware {
 	private final Class<T> type;
 	private final IPoint<T> point;
 
@@ -61,4 +64,11 @@ public abstract class AbstractBaseProvider<T> implements IProvider<T>, IInjector
 			((IInjectorAware) point).init(pInjector);
 		}
 	}
+
+	@Override
+	public void addDependencies(Collection<IBinding<?>> pDependencies) {
+		if (point instanceof IDependencyAware) {
+			((IDependencyAware) point).addDependencies(pDependencies);
+		}
+	}
 }
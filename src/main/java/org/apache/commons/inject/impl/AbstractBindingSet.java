@@ -17,6 +17,7 @@
 package org.apache.commons.inject.impl;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -25,6 +26,8 @@ import java.util.Map;
 import org.apache.commons.inject.api.IBinding;
 import org.apache.commons.inject.api.IKey;
 import org.apache.commons.inject.api.Key;
+import org.apache.commons.inject.util.AnnotationSet;
+import org.apache.commons.inject.util.Types;
 
 /**
  * A set of bindings, which are being collected to create, or implement
@@ -40,7 +43,17 @@ public class AbstractBindingSet {
 		public MappedKey(Class<T> pType, String pName,
 				         Annotation[] pAnnotations,
 				         Class<? extends Annotation> pAnnotationType) {
-			super(pType, pName, pAnnotations);
+			this(pType, pType, pName, pAnnotations, pAnnotationType);
+		}
+
+		/**
+		 * Creates a new instance with the given raw type, and generic type.
+		 * The generic type must have been taken from another {@link IKey}.
+		 */
+		public MappedKey(Class<T> pType, Type pGenericType, String pName,
+		                 Annotation[] pAnnotations,
+		                 Class<? extends Annotation> pAnnotationType) {
+			super(pType, pGenericType, pName, pAnnotations);
 			annotationType = pAnnotationType;
 		}
 
@@ -72,22 +85,54 @@ public class AbstractBindingSet {
 			return key;
 		}
 	}
+	/**
+	 * The key of a bucket of bindings with the same type, and name. The
+	 * type is the generic type, so that {@code List<String>}, and
+	 * {@code List<Integer>} are different keys. The generic types hash
+	 * code is precomputed, if the type has been
+	 * {@link Types#canonicalize(Type) canonicalized}, so creating the key
+	 * for a parameterized type is as cheap as for a class.
+	 */
 	protected static class ReducedKey<T> {
 		private final Class<T> type;
+		private final Type genericType;
 		private final String name;
+		private final int hashCode;
 		ReducedKey(Class<T> pType, String pName) {
+			this(pType, pType, pName);
+		}
+		ReducedKey(Class<T> pType, Type pGenericType, String pName) {
 			type = pType;
+			genericType = pGenericType;
 			name = pName;
+			hashCode = 31 * (31 + name.hashCode()) + genericType.hashCode();
 		}
 		public Class<T> getType() {
 			return type;
 		}
+		public Type getGenericType() {
+			return genericType;
+		}
+		/**
+		 * Returns, whether this key has a parameterized type. If so, and no
+		 * matching binding is found, then the bindings of the raw type are
+		 * used as a fallback.
+		 */
+		public boolean isGeneric() {
+			return genericType != type;
+		}
+		/**
+		 * Returns the key with the raw type, which is used as a fallback.
+		 */
+		public ReducedKey<T> getRawKey() {
+			return new ReducedKey<T>(type, name);
+		}
 		public String getName() {
 			return name;
 		}
 		@Override
 		public int hashCode() {
-			return 31 * (31 + name.hashCode()) + type.hashCode();
+			return hashCode;
 		}
 
 		@Override
@@ -99,7 +144,9 @@ public class AbstractBindingSet {
 			if (getClass() != obj.getClass())
 				return false;
 			ReducedKey<?> other = (ReducedKey<?>) obj;
-			return getType() == other.getType() &&  getName().equals(other.getName());
+			return hashCode == other.hashCode  &&  getType() == other.getType()
+					&&  (genericType == other.genericType  ||  genericType.equals(other.genericType))
+					&&  getName().equals(other.getName());
 		}
 
 		
@@ -117,7 +164,7 @@ public class AbstractBindingSet {
 
 
 	protected <T> ReducedKey<T> newReducedKey(IKey<T> pKey) {
-		return new ReducedKey<T>(pKey.getType(), pKey.getName());
+		return new ReducedKey<T>(pKey.getType(), pKey.getGenericType(), pKey.getName());
 	}
 
 	protected List<BindingAndKey<?>> findOrCreateList(ReducedKey<?> pKey) {
@@ -133,25 +180,62 @@ public class AbstractBindingSet {
 		// No need to compare type and name. They are matching, because
 		// we did a lookup with a ReducedKey to find the list of
 		// bindings and keys, from which pMapKey was taken.
-		if (!hasAnnotations(pMapKey.getAnnotations(), pSearchKey)
+		if (pMapKey.getAnnotationType() != null) {
+			return isMatchingAnnotationType(pSearchKey, pMapKey);
+		}
+		final AnnotationSet mappedAnnotations = pMapKey.getAnnotationSet();
+		final AnnotationSet searchAnnotations = getAnnotationSet(pSearchKey);
+		if (mappedAnnotations != null  &&  searchAnnotations != null) {
+			if (!mappedAnnotations.equals(searchAnnotations)) {
+				return false;
+			}
+		} else if (!hasAnnotations(pMapKey.getAnnotations(), pSearchKey)
 			||  !hasAnnotations(pSearchKey.getAnnotations(), pMapKey)) {
 			return false;
 		}
+		return isMatchingAnnotationType(pSearchKey, pMapKey);
+	}
+
+	/**
+	 * Returns the annotations of the given key as a set, or null, if the
+	 * annotations contain null values.
+	 */
+	protected AnnotationSet getAnnotationSet(IKey<?> pKey) {
+		if (pKey instanceof Key) {
+			return ((Key<?>) pKey).getAnnotationSet();
+		}
+		return AnnotationSet.valueOf(pKey.getAnnotations());
+	}
+
+	/**
+	 * Checks a mapped key, which requires an annotation type: The search key
+	 * must have an annotation of that type, and, apart from that, the same
+	 * annotations as the mapped key. Returns true, if the mapped key doesn't
+	 * require an annotation type.
+	 */
+	protected boolean isMatchingAnnotationType(IKey<?> pSearchKey, MappedKey<?> pMapKey) {
 		final Class<? extends Annotation> mappedAnnotationType = pMapKey.getAnnotationType();
-		if (mappedAnnotationType != null) {
-			boolean found = false;
-			for (Annotation searchAnnotation : pSearchKey.getAnnotations()) {
-				if (searchAnnotation != null  &&  mappedAnnotationType == searchAnnotation.getClass()) {
-					found = true;
-					break;
-				}
-			}
-			if (!found) {
+		if (mappedAnnotationType == null) {
+			return true;
+		}
+		boolean found = false;
+		for (Annotation searchAnnotation : pSearchKey.getAnnotations()) {
+			if (searchAnnotation != null  &&  mappedAnnotationType == searchAnnotation.annotationType()) {
+				found = true;
+			} else if (!contains(pMapKey.getAnnotations(), searchAnnotation)) {
 				return false;
 			}
-			
 		}
-		return true;
+		return found  &&  hasAnnotations(pMapKey.getAnnotations(), pSearchKey);
+	}
+
+	private boolean contains(Annotation[] pAnnotations, Annotation pAnnotation) {
+		for (Annotation annotation : pAnnotations) {
+			if (annotation.equals(pAnnotation)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	private boolean hasAnnotations(Annotation[] pAnnotations, IKey<?> pKey) {
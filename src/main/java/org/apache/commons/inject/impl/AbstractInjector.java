@@ -16,11 +16,15 @@
 */
 package org.apache.commons.inject.impl;
 
+import java.lang.reflect.Array;
+
 import org.apache.commons.inject.api.IBinding;
 import org.apache.commons.inject.api.IInjector;
 import org.apache.commons.inject.api.IKey;
+import org.apache.commons.inject.api.IProvider;
 import org.apache.commons.inject.api.Key;
 import org.apache.commons.inject.api.NoSuchBindingException;
+import org.apache.commons.inject.util.Generics;
 
 /**
  * Abstract implementation of an {@link IInjector injector}.
@@ -29,10 +33,23 @@ public abstract class AbstractInjector implements IInjector {
 	protected abstract <T> IBinding<T> getBinding(IKey<T> pKey);
 	protected abstract <T> IBinding<T> requireBinding(IKey<T> pKey);
 
+	/**
+	 * Returns the binding for the given type, without name, and annotations.
+	 * Subclasses are encouraged to override this, in order to provide a
+	 * faster implementation than {@link #getBinding(IKey)}.
+	 */
+	protected <T> IBinding<T> getBinding(Class<T> pType) {
+		return getBinding(new Key<T>(pType));
+	}
+
 	@Override
 	public <T> T getInstance(Class<T> pType) {
-		final IKey<T> key = new Key<T>(pType);
-		return getInstance(key);
+		final IBinding<T> binding = getBinding(pType);
+		if (binding == null) {
+			return null;
+		} else {
+			return binding.getProvider().get();
+		}
 	}
 
 	@Override
@@ -53,8 +70,12 @@ public abstract class AbstractInjector implements IInjector {
 
 	@Override
 	public <T> T requireInstance(Class<T> pType) throws NoSuchBindingException {
-		final IKey<T> key = new Key<T>(pType);
-		return requireInstance(key);
+		final IBinding<T> binding = getBinding(pType);
+		if (binding == null) {
+			throw new NoSuchBindingException("No binding registered for key: " + new Key<T>(pType));
+		} else {
+			return binding.getProvider().get();
+		}
 	}
 
 	@Override
@@ -74,6 +95,82 @@ public abstract class AbstractInjector implements IInjector {
 		}
 	}
 
+	@Override
+	public <T> T[] getInstances(Class<T> pType, int pCount) {
+		final IBinding<T> binding = getBinding(pType);
+		if (binding == null) {
+			return null;
+		} else {
+			return getInstances(binding, pType, pCount);
+		}
+	}
+
+	@Override
+	public <T> T[] getInstances(IKey<T> pKey, int pCount) {
+		final IBinding<T> binding = getBinding(pKey);
+		if (binding == null) {
+			return null;
+		} else {
+			return getInstances(binding, pKey.getType(), pCount);
+		}
+	}
+
+	@Override
+	public <T> T[] requireInstances(Class<T> pType, int pCount) throws NoSuchBindingException {
+		final IBinding<T> binding = getBinding(pType);
+		if (binding == null) {
+			throw new NoSuchBindingException("No binding registered for key: " + new Key<T>(pType));
+		} else {
+			return getInstances(binding, pType, pCount);
+		}
+	}
+
+	@Override
+	public <T> T[] requireInstances(IKey<T> pKey, int pCount) throws NoSuchBindingException {
+		final IBinding<T> binding = getBinding(pKey);
+		if (binding == null) {
+			throw new NoSuchBindingException("No binding registered for key: " + pKey);
+		} else {
+			return getInstances(binding, pKey.getType(), pCount);
+		}
+	}
+
+	@Override
+	public <T> IProvider<T> getProvider(Class<T> pType) throws NoSuchBindingException {
+		final IBinding<T> binding = getBinding(pType);
+		if (binding == null) {
+			throw new NoSuchBindingException("No binding registered for key: " + new Key<T>(pType));
+		} else {
+			return binding.getProvider();
+		}
+	}
+
+	@Override
+	public <T> IProvider<T> getProvider(IKey<T> pKey) throws NoSuchBindingException {
+		final IBinding<T> binding = getBinding(pKey);
+		if (binding == null) {
+			throw new NoSuchBindingException("No binding registered for key: " + pKey);
+		} else {
+			return binding.getProvider();
+		}
+	}
+
+	/**
+	 * Creates the given number of instances by invoking the bindings
+	 * provider repeatedly.
+	 */
+	protected <T> T[] getInstances(IBinding<T> pBinding, Class<T> pType, int pCount) {
+		if (pCount < 0) {
+			throw new IllegalArgumentException("The number of instances must not be negative.");
+		}
+		final T[] instances = Generics.cast(Array.newInstance(pType, pCount));
+		final IProvider<T> provider = pBinding.getProvider();
+		for (int i = 0;  i < pCount;  i++) {
+			instances[i] = provider.get();
+		}
+		return instances;
+	}
+
 	@Override
 	public void injectMembers(Object pInstance) {
 		if (pInstance == null) {
@@ -81,8 +178,11 @@ public abstract class AbstractInjector implements IInjector {
 		}
 		@SuppressWarnings("unchecked")
 		final Class<Object> cl = (Class<Object>) pInstance.getClass();
-		final IKey<Object> key = new Key<Object>(cl);
-		IBinding<Object> binding = requireBinding(key);
+		IBinding<Object> binding = getBinding(cl);
+		if (binding == null) {
+			final IKey<Object> key = new Key<Object>(cl);
+			binding = requireBinding(key);
+		}
 		binding.getPoint().injectTo(pInstance, this);
 	}
 }
@@ -16,6 +16,9 @@
 */
 package org.apache.commons.inject.impl;
 
+import java.util.Collection;
+
+import org.apache.commons.inject.api.IBinding;
 import org.apache.commons.inject.api.IInjector;
 import org.apache.commons.inject.api.IProvider;
 
@@ -24,7 +27,7 @@ import org.apache.commons.inject.api.IProvider;
  * The details of instantiation and value injection are left to the
  * {@link AbstractBaseProvider}.
  */
-public abstract class AbstractScopedProvider<T> implements IProvider<T>, IInjectorAware {
+public abstract class AbstractScopedProvider<T> implements IProvider<T>, IInjectorAware, IDependencyAware {
 	private final IProvider<T> baseProvider;
 	private IInjector injector;
 	protected boolean initialized;
@@ -64,4 +67,11 @@ public abstract class AbstractScopedProvider<T> implements IProvider<T>, IInject
 		}
 		initialized = true;
 	}
+
+	@Override
+	public void addDependencies(Collection<IBinding<?>> pDependencies) {
+		if (baseProvider instanceof IDependencyAware) {
+			((IDependencyAware) baseProvider).addDependencies(pDependencies);
+		}
+	}
 }
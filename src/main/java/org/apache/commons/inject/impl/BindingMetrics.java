@@ -0,0 +1,155 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.inject.api.IBindingMetrics;
+
+/**
+ * Default implementation of {@link IBindingMetrics}. Counters are striped
+ * ({@link LongAdder}), so that concurrent updates don't contend.
+ */
+public class BindingMetrics implements IBindingMetrics {
+	private static final int NUM_BUCKETS = 64;
+
+	private final String key;
+	private final int samplingInterval;
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder creations = new LongAdder();
+	private final LongAdder sampledCreations = new LongAdder();
+	private final LongAdder sampledNanos = new LongAdder();
+	private final AtomicLongArray histogram = new AtomicLongArray(NUM_BUCKETS);
+
+	/**
+	 * Creates a new instance.
+	 * @param pKey Description of the bindings key.
+	 * @param pSamplingInterval On average, every n-th creation is timed.
+	 */
+	public BindingMetrics(String pKey, int pSamplingInterval) {
+		key = pKey;
+		samplingInterval = pSamplingInterval;
+	}
+
+	void recordCall() {
+		calls.increment();
+	}
+
+	/**
+	 * Called before an instance is created.
+	 * @return The start time, or -1, if this creation isn't timed.
+	 */
+	long startCreation() {
+		creations.increment();
+		if (samplingInterval == 1
+				||  ThreadLocalRandom.current().nextInt(samplingInterval) == 0) {
+			return System.nanoTime();
+		}
+		return -1;
+	}
+
+	/**
+	 * Called after an instance has been created.
+	 * @param pStartNanos The value, that has been returned by
+	 *   {@link #startCreation()}.
+	 */
+	void endCreation(long pStartNanos) {
+		if (pStartNanos != -1) {
+			final long nanos = System.nanoTime() - pStartNanos;
+			sampledCreations.increment();
+			sampledNanos.add(nanos);
+			histogram.incrementAndGet(getBucket(nanos));
+		}
+	}
+
+	private static int getBucket(long pNanos) {
+		if (pNanos <= 0) {
+			return 0;
+		}
+		return NUM_BUCKETS - 1 - Long.numberOfLeadingZeros(pNanos);
+	}
+
+	@Override
+	public String getKey() {
+		return key;
+	}
+
+	@Override
+	public long getCallCount() {
+		return calls.sum();
+	}
+
+	@Override
+	public long getCreationCount() {
+		return creations.sum();
+	}
+
+	@Override
+	public long getSampledCreationCount() {
+		return sampledCreations.sum();
+	}
+
+	@Override
+	public double getMeanCreationNanos() {
+		final long count = sampledCreations.sum();
+		if (count == 0) {
+			return 0;
+		}
+		return sampledNanos.sum() / (double) count;
+	}
+
+	@Override
+	public long getMedianCreationNanos() {
+		return getPercentile(0.5);
+	}
+
+	@Override
+	public long get99thPercentileCreationNanos() {
+		return getPercentile(0.99);
+	}
+
+	private long getPercentile(double pFraction) {
+		final long[] buckets = getCreationNanosHistogram();
+		long total = 0;
+		for (long count : buckets) {
+			total += count;
+		}
+		if (total == 0) {
+			return 0;
+		}
+		final long threshold = (long) Math.ceil(total * pFraction);
+		long sum = 0;
+		for (int i = 0;  i < buckets.length;  i++) {
+			sum += buckets[i];
+			if (sum >= threshold) {
+				return i == NUM_BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i+1)) - 1;
+			}
+		}
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public long[] getCreationNanosHistogram() {
+		final long[] result = new long[NUM_BUCKETS];
+		for (int i = 0;  i < result.length;  i++) {
+			result[i] = histogram.get(i);
+		}
+		return result;
+	}
+}
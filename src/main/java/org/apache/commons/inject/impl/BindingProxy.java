@@ -16,14 +16,19 @@
 */
 package org.apache.commons.inject.impl;
 
+import java.util.Collection;
+
 import org.apache.commons.inject.api.IBinding;
 import org.apache.commons.inject.api.IInjector;
 import org.apache.commons.inject.api.IPoint;
 import org.apache.commons.inject.api.IProvider;
 
-public class BindingProxy<T> implements IBinding<T>, IInjectorAware {
-	private IBinding<T> binding;
-	private boolean initialized;
+public class BindingProxy<T> implements IBinding<T>, IInjectorAware, IDependencyAware {
+	/**
+	 * The proxied binding, or null, if it hasn't been set yet. Volatile, so
+	 * that lookups don't require a lock.
+	 */
+	private volatile IBinding<T> binding;
 	private boolean isResolvedLater;
 	private final String cause;
 	private final RuntimeException rte = new RuntimeException();
@@ -41,27 +46,28 @@ public class BindingProxy<T> implements IBinding<T>, IInjectorAware {
 	}
 	
 	@Override
-	public synchronized IProvider<T> getProvider() {
-		if (!initialized) {
+	public IProvider<T> getProvider() {
+		final IBinding<T> b = binding;
+		if (b == null) {
 			throw new IllegalStateException("This Binding hasn't been initialized.", rte);
 		}
-		return binding.getProvider();
+		return b.getProvider();
 	}
 
 	@Override
 	public IPoint<T> getPoint() {
-		if (!initialized) {
+		final IBinding<T> b = binding;
+		if (b == null) {
 			throw new IllegalStateException("This Binding hasn't been initialized.");
 		}
-		return binding.getPoint();
+		return b.getPoint();
 	}
 
-	public synchronized void setBinding(IBinding<T> pBinding) {
+	public void setBinding(IBinding<T> pBinding) {
 		if (pBinding == null) {
 			throw new NullPointerException("The proxied binding must not be null.");
 		}
 		binding = pBinding;
-		initialized = true;
 	}
 
 	public String getCause() {
@@ -70,8 +76,17 @@ public class BindingProxy<T> implements IBinding<T>, IInjectorAware {
 
 	@Override
 	public void init(IInjector pInjector) {
-		if (binding != null  &&  binding instanceof IInjectorAware) {
-			((IInjectorAware) binding).init(pInjector);
+		final IBinding<T> b = binding;
+		if (b != null  &&  b instanceof IInjectorAware) {
+			((IInjectorAware) b).init(pInjector);
+		}
+	}
+
+	@Override
+	public void addDependencies(Collection<IBinding<?>> pDependencies) {
+		final IBinding<T> b = binding;
+		if (b instanceof IDependencyAware) {
+			((IDependencyAware) b).addDependencies(pDependencies);
 		}
 	}
 }
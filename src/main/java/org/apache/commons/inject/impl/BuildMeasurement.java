@@ -0,0 +1,95 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.apache.commons.inject.api.IBuildProfiler;
+import org.apache.commons.inject.api.IBuildProfiler.Phase;
+
+/**
+ * Measures the wall time, and the allocated bytes of the current thread,
+ * for an {@link IBuildProfiler}. Instances are only created, if a profiler
+ * is present, so there is no overhead otherwise.
+ */
+class BuildMeasurement {
+	/**
+	 * Holds the thread bean. Obtaining it loads the management classes,
+	 * so this is deferred until a measurement is actually created, which
+	 * never happens without a profiler.
+	 */
+	private static class ThreadMXBeanHolder {
+		private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = newThreadMXBean();
+	}
+
+	private final long startNanos;
+	private final long startBytes;
+
+	private BuildMeasurement() {
+		startBytes = getAllocatedBytes();
+		startNanos = System.nanoTime();
+	}
+
+	private static com.sun.management.ThreadMXBean newThreadMXBean() {
+		try {
+			final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean instanceof com.sun.management.ThreadMXBean) {
+				final com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+				if (sunBean.isThreadAllocatedMemorySupported()  &&  sunBean.isThreadAllocatedMemoryEnabled()) {
+					return sunBean;
+				}
+			}
+		} catch (Throwable t) {
+			// Not available on this JVM.
+		}
+		return null;
+	}
+
+	private static long getAllocatedBytes() {
+		final com.sun.management.ThreadMXBean bean = ThreadMXBeanHolder.THREAD_MX_BEAN;
+		if (bean == null) {
+			return -1;
+		}
+		return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Starts a new measurement.
+	 * @return The started measurement, or null, if the given profiler is null.
+	 */
+	static BuildMeasurement start(IBuildProfiler pProfiler) {
+		return pProfiler == null ? null : new BuildMeasurement();
+	}
+
+	private long getElapsedBytes() {
+		if (startBytes == -1) {
+			return -1;
+		}
+		return getAllocatedBytes() - startBytes;
+	}
+
+	void phaseCompleted(IBuildProfiler pProfiler, Phase pPhase) {
+		final long nanos = System.nanoTime() - startNanos;
+		pProfiler.phaseCompleted(pPhase, nanos, getElapsedBytes());
+	}
+
+	void itemCompleted(IBuildProfiler pProfiler, Phase pPhase, String pItem) {
+		final long nanos = System.nanoTime() - startNanos;
+		pProfiler.itemCompleted(pPhase, pItem, nanos, getElapsedBytes());
+	}
+}
@@ -0,0 +1,358 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+
+import org.apache.commons.inject.api.IStaticInjector.Dependency;
+import org.apache.commons.inject.api.Key;
+import org.apache.commons.inject.util.Methods;
+
+/**
+ * The result of introspecting a class: Its injectable constructor, fields,
+ * and methods, together with the {@link Dependency dependencies} (type,
+ * {@link Named name}, and whether a {@link Provider} is required), and the
+ * compiled {@link MethodHandle method handles}. The metadata is computed
+ * once per class, and cached in a {@link ClassValue}, so it doesn't prevent
+ * the class (or its class loader) from being unloaded. Resolving the
+ * dependencies into bindings is still done per injector by the
+ * {@link Introspector}.
+ * <p>
+ * Besides the members, which are declared by the class itself, the
+ * metadata contains a precomputed plan for injecting an instance,
+ * including the members of the superclasses, as required by JSR-330:
+ * Supertypes are injected first, fields before methods, and a method is
+ * injected only, if it isn't overridden in a subclass. (If it is, then
+ * the overriding method is injected, provided that it's annotated with
+ * {@link Inject}.) The plan is computed from the plan of the superclass,
+ * so every class in a hierarchy is introspected only once.
+ */
+class ClassMetadata {
+	private static final ClassValue<ClassMetadata> metadata = new ClassValue<ClassMetadata>() {
+		@Override
+		protected ClassMetadata computeValue(Class<?> pType) {
+			return new ClassMetadata(pType);
+		}
+	};
+
+	/**
+	 * An injectable constructor, or method.
+	 */
+	static class InjectableMember<M> {
+		private final M member;
+		private final Dependency[] dependencies;
+		private final MethodHandle handle;
+
+		InjectableMember(M pMember, Dependency[] pDependencies, MethodHandle pHandle) {
+			member = pMember;
+			dependencies = pDependencies;
+			handle = pHandle;
+		}
+
+		M getMember() {
+			return member;
+		}
+
+		Dependency[] getDependencies() {
+			return dependencies;
+		}
+
+		/**
+		 * Returns the compiled handle, or null, if reflection must be used.
+		 */
+		MethodHandle getHandle() {
+			return handle;
+		}
+	}
+
+	/**
+	 * An injectable field.
+	 */
+	static class InjectableField {
+		private final Field field;
+		private final Dependency dependency;
+		private final MethodHandle setter;
+
+		InjectableField(Field pField, Dependency pDependency, MethodHandle pSetter) {
+			field = pField;
+			dependency = pDependency;
+			setter = pSetter;
+		}
+
+		Field getField() {
+			return field;
+		}
+
+		Dependency getDependency() {
+			return dependency;
+		}
+
+		/**
+		 * Returns the compiled setter, or null, if reflection must be used.
+		 */
+		MethodHandle getSetter() {
+			return setter;
+		}
+	}
+
+	/**
+	 * The members of a single class in the hierarchy, which are being
+	 * injected.
+	 */
+	static class Level {
+		private final Class<?> type;
+		private final InjectableField[] fields;
+		private final List<InjectableMember<Method>> methods;
+
+		Level(Class<?> pType, InjectableField[] pFields, List<InjectableMember<Method>> pMethods) {
+			type = pType;
+			fields = pFields;
+			methods = pMethods;
+		}
+
+		/**
+		 * Returns the class, which declares the members.
+		 */
+		Class<?> getType() {
+			return type;
+		}
+
+		InjectableField[] getFields() {
+			return fields;
+		}
+
+		List<InjectableMember<Method>> getMethods() {
+			return methods;
+		}
+	}
+
+	private final InjectableMember<Constructor<?>> constructor;
+	private final MethodHandle defaultConstructorHandle;
+	private final InjectableField[] fields;
+	private final List<InjectableMember<Method>> methods;
+	private final List<Level> levels;
+
+	private ClassMetadata(Class<?> pType) {
+		InjectableMember<Constructor<?>> injectConstructor = null;
+		for (Constructor<?> c : pType.getDeclaredConstructors()) {
+			if (c.isAnnotationPresent(Inject.class)) {
+				injectConstructor = newMember(c);
+				break;
+			}
+		}
+		constructor = injectConstructor;
+		defaultConstructorHandle = newDefaultConstructorHandle(pType);
+		final List<InjectableField> fieldList = new ArrayList<InjectableField>();
+		for (Field f : pType.getDeclaredFields()) {
+			if (Modifier.isStatic(f.getModifiers())  ||  !f.isAnnotationPresent(Inject.class)) {
+				continue;
+			}
+			final Dependency dependency = getDependency(f.getType(), f.getGenericType(), f.getAnnotations());
+			fieldList.add(new InjectableField(f, dependency, MethodHandleCompiler.compileSetter(f)));
+		}
+		fields = fieldList.toArray(new InjectableField[fieldList.size()]);
+		final List<InjectableMember<Method>> methodList = new ArrayList<InjectableMember<Method>>();
+		for (Method m : pType.getDeclaredMethods()) {
+			// Bridge methods may carry the annotations of the bridged method,
+			// which is injected itself.
+			if (Modifier.isStatic(m.getModifiers())  ||  m.isBridge()  ||  m.isSynthetic()
+					||  !m.isAnnotationPresent(Inject.class)) {
+				continue;
+			}
+			methodList.add(newMember(m));
+		}
+		methods = methodList;
+		levels = newLevels(pType);
+	}
+
+	private List<Level> newLevels(Class<?> pType) {
+		final List<Level> list = new ArrayList<Level>();
+		final Class<?> superClass = pType.getSuperclass();
+		if (superClass != null  &&  superClass != Object.class) {
+			final Method[] declaredMethods = pType.getDeclaredMethods();
+			for (Level level : forClass(superClass).levels) {
+				final List<InjectableMember<Method>> methodList = new ArrayList<InjectableMember<Method>>();
+				for (InjectableMember<Method> m : level.getMethods()) {
+					if (!Methods.isOverridden(m.getMember(), declaredMethods)) {
+						methodList.add(m);
+					}
+				}
+				if (methodList.size() == level.getMethods().size()) {
+					list.add(level);
+				} else {
+					list.add(new Level(level.getType(), level.getFields(), methodList));
+				}
+			}
+		}
+		if (fields.length > 0  ||  !methods.isEmpty()) {
+			list.add(new Level(pType, fields, methods));
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * Returns the metadata of the given class.
+	 */
+	static ClassMetadata forClass(Class<?> pType) {
+		return metadata.get(pType);
+	}
+
+	/**
+	 * Returns the constructor, which is annotated with {@link Inject},
+	 * or null.
+	 */
+	InjectableMember<Constructor<?>> getConstructor() {
+		return constructor;
+	}
+
+	/**
+	 * Returns the handle of the default constructor, or null, if there
+	 * is no such constructor, or no handle can be created.
+	 */
+	MethodHandle getDefaultConstructorHandle() {
+		return defaultConstructorHandle;
+	}
+
+	/**
+	 * Returns the plan for injecting an instance: The classes in the
+	 * hierarchy, which have injectable members, starting with the topmost
+	 * superclass.
+	 */
+	List<Level> getLevels() {
+		return levels;
+	}
+
+	/**
+	 * Returns the non-static fields, which are annotated with {@link Inject},
+	 * and declared by the class itself.
+	 */
+	InjectableField[] getFields() {
+		return fields;
+	}
+
+	/**
+	 * Returns the non-static methods, which are annotated with {@link Inject},
+	 * and declared by the class itself.
+	 */
+	List<InjectableMember<Method>> getMethods() {
+		return methods;
+	}
+
+	static InjectableMember<Constructor<?>> newMember(Constructor<?> pConstructor) {
+		final Dependency[] dependencies = getDependencies(pConstructor.getParameterTypes(),
+				pConstructor.getGenericParameterTypes(), pConstructor.getParameterAnnotations());
+		return new InjectableMember<Constructor<?>>(pConstructor, dependencies, MethodHandleCompiler.compile(pConstructor));
+	}
+
+	static InjectableMember<Method> newMember(Method pMethod) {
+		final Dependency[] dependencies = getDependencies(pMethod.getParameterTypes(),
+				pMethod.getGenericParameterTypes(), pMethod.getParameterAnnotations());
+		return new InjectableMember<Method>(pMethod, dependencies, MethodHandleCompiler.compile(pMethod));
+	}
+
+	/**
+	 * Returns a handle for the public default constructor of the given,
+	 * public class. Otherwise, {@link Class#newInstance()} is used, which
+	 * rejects a constructor, which isn't accessible.
+	 */
+	private static MethodHandle newDefaultConstructorHandle(Class<?> pType) {
+		if (!Modifier.isPublic(pType.getModifiers())) {
+			return null;
+		}
+		try {
+			final Constructor<?> constructor = pType.getDeclaredConstructor();
+			if (!Modifier.isPublic(constructor.getModifiers())) {
+				return null;
+			}
+			return MethodHandleCompiler.compile(constructor);
+		} catch (Throwable t) {
+			// No default constructor: Fall back to reflection.
+			return null;
+		}
+	}
+
+	private static Dependency[] getDependencies(Class<?>[] pParameterClasses, Type[] pParameterTypes,
+			Annotation[][] pParameterAnnotations) {
+		final Dependency[] dependencies = new Dependency[pParameterClasses.length];
+		for (int i = 0;  i < dependencies.length;  i++) {
+			// The generic parameter types may omit synthetic parameters, for
+			// example the outer instance of an inner class.
+			final Type type = pParameterTypes.length == pParameterClasses.length ? pParameterTypes[i] : null;
+			final Annotation[] annotations = i < pParameterAnnotations.length ? pParameterAnnotations[i] : new Annotation[0];
+			dependencies[i] = getDependency(pParameterClasses[i], type, annotations);
+		}
+		return dependencies;
+	}
+
+	private static Dependency getDependency(Class<?> pClass, Type pType, Annotation[] pAnnotations) {
+		String name = Key.NO_NAME;
+		for (Annotation annotation : pAnnotations) {
+			if (annotation instanceof Named) {
+				name = ((Named) annotation).value();
+				break;
+			}
+		}
+		if (pClass == Provider.class  &&  pType instanceof ParameterizedType) {
+			final Type[] typeArgs = ((ParameterizedType) pType).getActualTypeArguments();
+			if (typeArgs != null  &&  typeArgs.length == 1  &&  isKeyType(typeArgs[0])) {
+				return new Dependency(typeArgs[0], name, true);
+			}
+		}
+		if (isKeyType(pType)) {
+			return new Dependency(pType, name, false);
+		}
+		return new Dependency(pClass, name, false);
+	}
+
+	/**
+	 * Returns, whether the given type can be used as a keys generic type.
+	 * Type variables, and wildcards can't: In that case, the dependency
+	 * is on the erasure.
+	 */
+	private static boolean isKeyType(Type pType) {
+		if (pType instanceof Class<?>) {
+			return true;
+		}
+		if (pType instanceof ParameterizedType) {
+			for (Type typeArg : ((ParameterizedType) pType).getActualTypeArguments()) {
+				if (!isKeyType(typeArg)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		if (pType instanceof GenericArrayType) {
+			return isKeyType(((GenericArrayType) pType).getGenericComponentType());
+		}
+		return false;
+	}
+}
@@ -16,47 +16,119 @@
 */
 package org.apache.commons.inject.impl;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
 import org.apache.commons.inject.api.IBinding;
 import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.IInjectorMetrics;
 import org.apache.commons.inject.api.IKey;
 import org.apache.commons.inject.api.IPoint;
 import org.apache.commons.inject.api.IProvider;
+import org.apache.commons.inject.api.Key;
 import org.apache.commons.inject.api.NoSuchBindingException;
 import org.apache.commons.inject.impl.AbstractBindingSet.MappedKey;
 import org.apache.commons.inject.impl.AbstractBindingSet.ReducedKey;
 import org.apache.commons.inject.impl.bind.DefaultBinding;
+import org.apache.commons.inject.impl.bind.PerCallProvider;
 
 /**
  * Default implementation of an {@link IInjector injector}.
  */
 public class DefaultInjector extends AbstractInjector {
 	private final ImmutableBindingSet bindings;
+	/**
+	 * Serializes the creation of just-in-time bindings. Lookups don't
+	 * need this lock.
+	 */
+	private final ReentrantLock jitLock = new ReentrantLock();
+	/**
+	 * Cache of the bindings without name, and annotations, which are by far
+	 * the most frequently used. A hit doesn't require to create a key, or
+	 * to check annotations. Missing bindings are not cached: A binding,
+	 * which is created later on, either by this injector, or by a parent,
+	 * must be found by subsequent lookups.
+	 */
+	private final ConcurrentMap<Class<?>, IBinding<?>> typeBindings = new ConcurrentHashMap<Class<?>, IBinding<?>>();
 	
+	private final InjectorMetrics metrics;
+
 	public DefaultInjector(ImmutableBindingSet pBindings) {
+		this(pBindings, null);
+	}
+
+	/**
+	 * Creates a new instance.
+	 * @param pBindings The injectors bindings.
+	 * @param pMetrics The injectors metrics, or null, if metrics are disabled.
+	 */
+	public DefaultInjector(ImmutableBindingSet pBindings, InjectorMetrics pMetrics) {
 		bindings = pBindings;
+		metrics = pMetrics;
+		if (metrics != null) {
+			metrics.setBindings(bindings);
+		}
 	}
 
-	protected <T> IBinding<T> getBinding(IKey<T> pKey) {
-		synchronized(bindings) {
-			return bindings.getBinding(pKey);
+	/**
+	 * Returns the injectors bindings. Used to create child injectors.
+	 */
+	ImmutableBindingSet getBindings() {
+		return bindings;
+	}
+
+	@Override
+	public IInjectorMetrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	protected <T> IBinding<T> getBinding(Class<T> pType) {
+		@SuppressWarnings("unchecked")
+		IBinding<T> binding = (IBinding<T>) typeBindings.get(pType);
+		if (binding == null) {
+			binding = bindings.getBinding(new Key<T>(pType));
+			if (binding != null) {
+				typeBindings.putIfAbsent(pType, binding);
+			}
 		}
+		return binding;
+	}
+
+	protected <T> IBinding<T> getBinding(IKey<T> pKey) {
+		return bindings.getBinding(pKey);
 	}
 	
 	protected <T> IBinding<T> requireBinding(IKey<T> pKey) {
-		synchronized(bindings) {
-			IBinding<T> binding;
-			binding = bindings.getBinding(pKey);
-			if (binding == null) {
+		final IBinding<T> binding = bindings.getBinding(pKey);
+		if (binding != null) {
+			return binding;
+		}
+		jitLock.lock();
+		try {
+			// Check again: Another thread may have created the binding
+			// while we were waiting for the lock.
+			IBinding<T> jitBinding = bindings.getBinding(pKey);
+			if (jitBinding == null) {
 				final IMutableBindingSource bindingSource = getBindingSource();
 				final Class<T> cl = pKey.getType();
 				final IPoint<T> point = Introspector.getInstance().getPoint(cl, bindingSource);
-				final IProvider<T> provider = Introspector.getInstance().getProvider(cl, point, bindingSource);
-				binding = new DefaultBinding<T>(provider, point);
+				final IProvider<T> baseProvider = Introspector.getInstance().getProvider(cl, point, bindingSource);
+				// Use a scoped provider, like any other binding, so that the
+				// bindings provider injects the created instances.
+				final IProvider<T> provider = new PerCallProvider<T>(baseProvider);
+				jitBinding = new DefaultBinding<T>(provider, point);
+				// Initialize the binding before publishing it, so that
+				// its points are linked.
+				((IInjectorAware) jitBinding).init(this);
 				final ReducedKey<T> rkey = new ReducedKey<T>(cl, pKey.getName());
 				final MappedKey<T> key = new MappedKey<T>(cl, pKey.getName(), null, null);
-				bindings.add(rkey, key, binding);
+				bindings.add(rkey, key, jitBinding);
 			}
-			return binding;
+			return jitBinding;
+		} finally {
+			jitLock.unlock();
 		}
 	}
 
@@ -19,9 +19,13 @@ package org.apache.commons.inject.impl;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.inject.api.IBinding;
+import org.apache.commons.inject.api.IBuildProfiler;
 import org.apache.commons.inject.api.IInjector;
 import org.apache.commons.inject.api.IInjectorBuilder;
 import org.apache.commons.inject.api.IKey;
@@ -31,18 +35,33 @@ import org.apache.commons.inject.api.Key;
 import org.apache.commons.inject.api.bind.IAnnotatedBindingBuilder;
 import org.apache.commons.inject.api.bind.IBinder;
 import org.apache.commons.inject.api.bind.ILinkedBindingBuilder;
+import org.apache.commons.inject.api.bind.IMapBinder;
 import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.api.bind.ISetBinder;
+import org.apache.commons.inject.api.IBuildProfiler.Phase;
 import org.apache.commons.inject.api.bind.IBinder.IInjectionListener;
 import org.apache.commons.inject.api.bind.IBinder.IInjectionParticipator;
 import org.apache.commons.inject.api.bind.IBinder.IInjectorBuildListener;
+import org.apache.commons.inject.impl.bind.AbstractMultibinder;
 import org.apache.commons.inject.impl.bind.DefaultBinding;
 import org.apache.commons.inject.impl.bind.DefaultBindingBuilder;
+import org.apache.commons.inject.impl.bind.DefaultMapBinder;
+import org.apache.commons.inject.impl.bind.DefaultSetBinder;
+import org.apache.commons.inject.util.Generics;
 
 public class DefaultInjectorBuilder implements IInjectorBuilder {
 	private final Collection<IModule> modules;
 	private final List<IInjectionListener> injectionListeners = new ArrayList<IInjectionListener>();
 	private final List<IInjectionParticipator> injectionParticipators = new ArrayList<IInjectionParticipator>();
 	private final List<IInjectorBuildListener> injectorBuildListeners = new ArrayList<IInjectorBuildListener>();
+	private Executor eagerSingletonExecutor;
+	private IBuildProfiler profiler;
+	private int metricsSamplingInterval;
+	private DefaultInjector parent;
+	/**
+	 * The metrics of the injector, which is currently being built.
+	 */
+	private InjectorMetrics metrics;
 
 	public DefaultInjectorBuilder(Collection<IModule> pModules) {
 		modules = pModules;
@@ -52,16 +71,23 @@ public class DefaultInjectorBuilder implements IInjectorBuilder {
 		modules = new ArrayList<IModule>();
 	}
 
+	@Override
 	public IInjector build() {
+		metrics = metricsSamplingInterval == 0 ? null : new InjectorMetrics(metricsSamplingInterval);
 		final MutableBindingSet mutableBindings = new MutableBindingSet();
 		configure(mutableBindings);
 		final IKey<IInjector> key = new Key<IInjector>(IInjector.class);
 		final BindingProxy<IInjector> bindingProxy = (BindingProxy<IInjector>) mutableBindings.requireBinding(key, "to create an automatic binding for an injector.");
 		bindingProxy.setResolvedLater(true);
-		final ResolvableBindingSet resolvableBindings = new ResolvableBindingSet(mutableBindings);
+		final ImmutableBindingSet parentBindings = parent == null ? null : parent.getBindings();
+		final ResolvableBindingSet resolvableBindings = new ResolvableBindingSet(mutableBindings, parentBindings);
+		final BuildMeasurement resolveMeasurement = BuildMeasurement.start(profiler);
 		resolve(resolvableBindings);
-		final ImmutableBindingSet immutableBindings = new ImmutableBindingSet(resolvableBindings);
-		final DefaultInjector injector = new DefaultInjector(immutableBindings);
+		if (resolveMeasurement != null) {
+			resolveMeasurement.phaseCompleted(profiler, Phase.RESOLVE);
+		}
+		final ImmutableBindingSet immutableBindings = new ImmutableBindingSet(resolvableBindings, parentBindings);
+		final DefaultInjector injector = new DefaultInjector(immutableBindings, metrics);
 		final IProvider<IInjector> provider = new IProvider<IInjector>(){
 			@Override
 			public IInjector get() {
@@ -85,12 +111,27 @@ public class DefaultInjectorBuilder implements IInjectorBuilder {
 			}
 		};
 		bindingProxy.setBinding(new DefaultBinding<IInjector>(provider, point));
-		for (IBinding<?> binding : immutableBindings.getAllBindings()) {
+		final Map<IKey<?>, IBinding<?>> bindings = immutableBindings.getBindingMap();
+		final BuildMeasurement initMeasurement = BuildMeasurement.start(profiler);
+		for (Map.Entry<IKey<?>, IBinding<?>> en : bindings.entrySet()) {
+			final IBinding<?> binding = en.getValue();
+			final BuildMeasurement measurement = BuildMeasurement.start(profiler);
 			if (binding instanceof IInjectorAware) {
 				((IInjectorAware) binding).init(injector);
 			} else {
 				throw new IllegalStateException("No InjectorAware: " + binding);
 			}
+			if (measurement != null) {
+				measurement.itemCompleted(profiler, Phase.INITIALIZE, Key.toString(en.getKey()));
+			}
+		}
+		if (initMeasurement != null) {
+			initMeasurement.phaseCompleted(profiler, Phase.INITIALIZE);
+		}
+		final BuildMeasurement eagerMeasurement = BuildMeasurement.start(profiler);
+		createEagerSingletons(bindings);
+		if (eagerMeasurement != null) {
+			eagerMeasurement.phaseCompleted(profiler, Phase.CREATE_EAGER_SINGLETONS);
 		}
 		for (IInjectorBuildListener listener : injectorBuildListeners) {
 			listener.created(injector);
@@ -98,22 +139,52 @@ public class DefaultInjectorBuilder implements IInjectorBuilder {
 		return injector;
 	}
 
+	protected void createEagerSingletons(Map<IKey<?>, IBinding<?>> pBindings) {
+		new EagerSingletonInitializer(eagerSingletonExecutor, profiler).initialize(pBindings);
+	}
+
 	protected void resolve(ResolvableBindingSet pBindings) {
 		pBindings.resolve();
 	}
 	
 	protected void configure(final MutableBindingSet mutableBindings) {
 		final List<DefaultBindingBuilder<?>> builders = new ArrayList<DefaultBindingBuilder<?>>();
-		final IBinder binder = newBinder(builders);
+		final Map<String, AbstractMultibinder<?,?>> multibinders = new LinkedHashMap<String, AbstractMultibinder<?,?>>();
+		final IBinder binder = newBinder(builders, multibinders);
+		final BuildMeasurement configureMeasurement = BuildMeasurement.start(profiler);
 		for (IModule module : modules) {
+			final BuildMeasurement measurement = BuildMeasurement.start(profiler);
 			module.configure(binder);
+			if (measurement != null) {
+				measurement.itemCompleted(profiler, Phase.CONFIGURE, module.getClass().getName());
+			}
+		}
+		if (configureMeasurement != null) {
+			configureMeasurement.phaseCompleted(profiler, Phase.CONFIGURE);
 		}
+		final BuildMeasurement bindingsMeasurement = BuildMeasurement.start(profiler);
 		for (DefaultBindingBuilder<?> builder : builders) {
-			builder.build(mutableBindings, injectionListeners, injectionParticipators);
+			final BuildMeasurement measurement = BuildMeasurement.start(profiler);
+			builder.build(mutableBindings, injectionListeners, injectionParticipators, metrics);
+			if (measurement != null) {
+				measurement.itemCompleted(profiler, Phase.CREATE_BINDINGS, Key.toString(builder.getKey()));
+			}
+		}
+		// The element bindings have been built, so the collections can be built.
+		for (AbstractMultibinder<?,?> multibinder : multibinders.values()) {
+			final BuildMeasurement measurement = BuildMeasurement.start(profiler);
+			multibinder.build(mutableBindings);
+			if (measurement != null) {
+				measurement.itemCompleted(profiler, Phase.CREATE_BINDINGS, Key.toString(multibinder.getKey()));
+			}
+		}
+		if (bindingsMeasurement != null) {
+			bindingsMeasurement.phaseCompleted(profiler, Phase.CREATE_BINDINGS);
 		}
 	}
 
-	private IBinder newBinder(final List<DefaultBindingBuilder<?>> builders) {
+	private IBinder newBinder(final List<DefaultBindingBuilder<?>> builders,
+			final Map<String, AbstractMultibinder<?,?>> multibinders) {
 		return new IBinder(){
 			@Override
 			public <T> IAnnotatedBindingBuilder<T> bind(Class<T> pType) {
@@ -137,6 +208,42 @@ public class DefaultInjectorBuilder implements IInjectorBuilder {
 				return builder;
 			}
 
+			@Override
+			public <T> ISetBinder<T> bindSet(Class<T> pElementType) {
+				return bindSet(pElementType, Key.NO_NAME);
+			}
+
+			@Override
+			public <T> ISetBinder<T> bindSet(Class<T> pElementType, String pName) {
+				final DefaultSetBinder<T> setBinder = new DefaultSetBinder<T>(pElementType, pName, builders);
+				return getMultibinder(setBinder);
+			}
+
+			@Override
+			public <K, V> IMapBinder<K, V> bindMap(Class<K> pKeyType, Class<V> pValueType) {
+				return bindMap(pKeyType, pValueType, Key.NO_NAME);
+			}
+
+			@Override
+			public <K, V> IMapBinder<K, V> bindMap(Class<K> pKeyType, Class<V> pValueType, String pName) {
+				final DefaultMapBinder<K,V> mapBinder = new DefaultMapBinder<K,V>(pKeyType, pValueType, pName, builders);
+				return getMultibinder(mapBinder);
+			}
+
+			/**
+			 * Returns the multibinder with the same key as the given, if
+			 * any, or registers the given multibinder.
+			 */
+			private <M extends AbstractMultibinder<?,?>> M getMultibinder(M pMultibinder) {
+				final String key = Key.toString(pMultibinder.getKey());
+				final AbstractMultibinder<?,?> multibinder = multibinders.get(key);
+				if (multibinder == null) {
+					multibinders.put(key, pMultibinder);
+					return pMultibinder;
+				}
+				return Generics.cast(multibinder);
+			}
+
 			@Override
 			public boolean add(IInjectionParticipator pParticipator) {
 				if (pParticipator == null) {
@@ -180,4 +287,35 @@ public class DefaultInjectorBuilder implements IInjectorBuilder {
 		modules.addAll(pModules);
 		return this;
 	}
+
+	@Override
+	public IInjectorBuilder eagerSingletonExecutor(Executor pExecutor) {
+		eagerSingletonExecutor = pExecutor;
+		return this;
+	}
+
+	@Override
+	public IInjectorBuilder metrics(int pSamplingInterval) {
+		if (pSamplingInterval < 0) {
+			throw new IllegalArgumentException("The sampling interval must not be negative.");
+		}
+		metricsSamplingInterval = pSamplingInterval;
+		return this;
+	}
+
+	@Override
+	public IInjectorBuilder parent(IInjector pParent) {
+		if (pParent != null  &&  !(pParent instanceof DefaultInjector)) {
+			throw new IllegalArgumentException("The parent injector must have been created by an injector builder, not "
+					+ pParent.getClass().getName());
+		}
+		parent = (DefaultInjector) pParent;
+		return this;
+	}
+
+	@Override
+	public IInjectorBuilder profiler(IBuildProfiler pProfiler) {
+		profiler = pProfiler;
+		return this;
+	}
 }
@@ -17,90 +17,399 @@
 package org.apache.commons.inject.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.apache.commons.inject.api.ILifecycleController;
 import org.apache.commons.inject.api.ILifecycleListener;
+import org.apache.commons.inject.api.IPhasedLifecycleListener;
 import org.apache.commons.inject.util.Exceptions;
 
+/**
+ * Default implementation of {@link ILifecycleController}. Listeners are
+ * started in order of registration, and shut down in reverse order.
+ * {@link IPhasedLifecycleListener Phased listeners} are ordered by their
+ * phase, and, if an {@link #setExecutor(Executor) executor} has been
+ * configured, the listeners of a phase are started, and shut down, in
+ * parallel. A {@link #setTimeout(long, TimeUnit) timeout} applies to
+ * listeners running on the executor only, and limits the time of a
+ * phase as a whole.
+ * <p>
+ * Other listeners, in particular those, which are added by the
+ * {@link org.apache.commons.inject.api.PostConstructModule} for
+ * {@code PreDestroy} methods, are started, and shut down, sequentially.
+ * The controller doesn't know the dependencies between these objects:
+ * It relies on the order of registration instead, because an object is
+ * always registered after the objects, which have been injected into it.
+ * <p>
+ * No lock is held while listeners are running, so listeners may add, or
+ * remove, other listeners. A listener, which is added while the controller
+ * is being started, or after it has been started, is started immediately
+ * by the thread, which adds it.
+ */
 public class DefaultLifecycleController implements ILifecycleController {
+	private static final Logger log = Logger.getLogger(DefaultLifecycleController.class.getName());
 	private static final int NOT_STARTED = 0;
 	private static final int STARTED = 1;
 	private static final int TERMINATED = 2;
 
-	private int state = NOT_STARTED;
-	private List<ILifecycleListener> listeners = new ArrayList<ILifecycleListener>();
-	private List<ILifecycleListener> initializedListeners = new ArrayList<ILifecycleListener>();
+	private static class Registration {
+		private final ILifecycleListener listener;
+		private final long sequence;
+		private final int phase;
+		private final boolean parallel;
+		private final AtomicBoolean started = new AtomicBoolean();
 
-	@Override
-	public synchronized void start() {
-		System.err.println("DefaultLifecycleController.start: -> " + state);
-		if (state == NOT_STARTED) {
-			for (ILifecycleListener listener : listeners) {
-				try {
-					listener.start();
-					initializedListeners.add(listener);
-				} catch (Throwable t) {
-					throw Exceptions.show(t);
-				}
+		Registration(ILifecycleListener pListener, long pSequence) {
+			listener = pListener;
+			sequence = pSequence;
+			parallel = pListener instanceof IPhasedLifecycleListener;
+			phase = parallel ? ((IPhasedLifecycleListener) pListener).getPhase() : 0;
+		}
+	}
+
+	private static final Comparator<Registration> ORDER = new Comparator<Registration>() {
+		@Override
+		public int compare(Registration pReg1, Registration pReg2) {
+			if (pReg1.phase != pReg2.phase) {
+				return pReg1.phase < pReg2.phase ? -1 : 1;
+			}
+			if (pReg1.parallel != pReg2.parallel) {
+				return pReg1.parallel ? -1 : 1;
 			}
-			state = STARTED;
+			return pReg1.sequence < pReg2.sequence ? -1 : (pReg1.sequence == pReg2.sequence ? 0 : 1);
 		}
-		System.err.println("DefaultLifecycleController.start: <- " + state);
+	};
+
+	private volatile int state = NOT_STARTED;
+	private final ConcurrentHashMap<ILifecycleListener, Registration> listeners = new ConcurrentHashMap<ILifecycleListener, Registration>();
+	private final AtomicLong sequence = new AtomicLong();
+	private volatile Executor executor;
+	private volatile long timeoutNanos;
+	/**
+	 * Registration takes the read lock, so that listeners may be added
+	 * concurrently. {@link #start()}, and {@link #shutdown()} take the write
+	 * lock briefly, while changing the state, and taking a snapshot of the
+	 * registrations, but not while the listeners are running.
+	 */
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	/**
+	 * Serializes {@link #start()}, and {@link #shutdown()}. A {@link ReentrantLock}
+	 * rather than synchronized, because listeners may block, which would pin the
+	 * carrier thread of a virtual thread.
+	 */
+	private final ReentrantLock transitionLock = new ReentrantLock();
+
+	/**
+	 * Sets the executor, which is used to start, and shut down, the
+	 * {@link IPhasedLifecycleListener phased listeners} of a phase in
+	 * parallel. By default, there is no executor, and all listeners are
+	 * invoked by the thread calling {@link #start()}, or {@link #shutdown()}.
+	 */
+	public void setExecutor(Executor pExecutor) {
+		executor = pExecutor;
 	}
 
+	/**
+	 * Returns the executor, which is used to start, and shut down, the
+	 * {@link IPhasedLifecycleListener phased listeners} of a phase in
+	 * parallel, or null (default).
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Sets the maximum time, that the listeners of a phase, which are running
+	 * on the {@link #getExecutor() executor}, may take to start, or shut down.
+	 * A value of 0 (default) means no timeout.
+	 */
+	public void setTimeout(long pTimeout, TimeUnit pUnit) {
+		if (pTimeout < 0) {
+			throw new IllegalArgumentException("The timeout must not be negative.");
+		}
+		if (pUnit == null) {
+			throw new NullPointerException("The time unit must not be null.");
+		}
+		timeoutNanos = pUnit.toNanos(pTimeout);
+	}
+
+	/**
+	 * Returns the maximum time, that the listeners of a phase, which are running
+	 * on the {@link #getExecutor() executor}, may take to start, or shut down,
+	 * or 0 (no timeout).
+	 */
+	public long getTimeout(TimeUnit pUnit) {
+		return pUnit.convert(timeoutNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Starts all listeners. If a listener fails, then the exception is
+	 * rethrown. The controller is considered started nevertheless, so that
+	 * {@link #shutdown()} shuts down the listeners, which have been started.
+	 */
 	@Override
-	public synchronized void shutdown() {
-		System.err.println("DefaultLifecycleController.shutdown: -> " + state);
-		if (state == STARTED) {
-			Throwable th = null;
-			// Shutdown in reverse order.
-			for (int i = initializedListeners.size()-1;  i >= 0;  i--) {
-				final ILifecycleListener listener = initializedListeners.get(i);
-				try {
-					listener.shutdown();
-					listeners.remove(i);
-				} catch (Throwable t) {
-					if (th == null) {
-						th = t;
-					}
+	public void start() {
+		transitionLock.lock();
+		try {
+			final List<List<Registration>> batches;
+			lock.writeLock().lock();
+			try {
+				if (state != NOT_STARTED) {
+					return;
 				}
+				batches = getBatches();
+				state = STARTED;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			if (log.isLoggable(Level.FINE)) {
+				log.fine("Starting lifecycle listeners in " + batches.size() + " steps");
+			}
+			for (List<Registration> batch : batches) {
+				final Throwable th = run(batch, true);
 				if (th != null) {
 					throw Exceptions.show(th);
 				}
 			}
-			state = TERMINATED;
+			log.fine("Lifecycle listeners started");
+		} finally {
+			transitionLock.unlock();
 		}
-		System.err.println("DefaultLifecycleController.shutdown: <- " + state);
 	}
 
 	@Override
-	public synchronized boolean add(ILifecycleListener pListener) {
-		System.err.println("DefaultLifecycleController.add: -> " + pListener + ", " + state);
-		if (state == STARTED) {
+	public void shutdown() {
+		transitionLock.lock();
+		try {
+			final List<List<Registration>> batches;
+			lock.writeLock().lock();
 			try {
-				pListener.start();
-				initializedListeners.add(pListener);
-			} catch (Throwable t) {
+				if (state != STARTED) {
+					return;
+				}
+				batches = getBatches();
+				state = TERMINATED;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			if (log.isLoggable(Level.FINE)) {
+				log.fine("Shutting down lifecycle listeners in " + batches.size() + " steps");
+			}
+			// Shutdown in reverse order.
+			Collections.reverse(batches);
+			Throwable th = null;
+			for (List<Registration> batch : batches) {
+				Collections.reverse(batch);
+				final Throwable t = run(batch, false);
+				if (th == null) {
+					th = t;
+				}
+			}
+			log.fine("Lifecycle listeners terminated");
+			if (th != null) {
+				throw Exceptions.show(th);
+			}
+		} finally {
+			transitionLock.unlock();
+		}
+	}
+
+	/**
+	 * Adds the given listener. If the controller has already been started,
+	 * then the listener is started immediately. Note, that a listener is
+	 * registered at most once: If the listener has already been added,
+	 * then this method does nothing, and returns false. (Prior versions
+	 * added the listener again.)
+	 */
+	@Override
+	public boolean add(ILifecycleListener pListener) {
+		if (pListener == null) {
+			throw new NullPointerException("The listener must not be null.");
+		}
+		final Registration registration = new Registration(pListener, sequence.incrementAndGet());
+		final int st;
+		lock.readLock().lock();
+		try {
+			if (listeners.putIfAbsent(pListener, registration) != null) {
+				return false;
+			}
+			st = state;
+		} finally {
+			lock.readLock().unlock();
+		}
+		if (log.isLoggable(Level.FINEST)) {
+			log.finest("Added lifecycle listener " + pListener);
+		}
+		if (st == STARTED) {
+			// The registration isn't contained in the snapshot of start(), so start it now.
+			final Throwable t = invoke(registration, true);
+			if (t != null) {
+				listeners.remove(pListener, registration);
 				throw Exceptions.show(t);
 			}
+			if (state == TERMINATED) {
+				// The controller has been shut down concurrently, possibly before
+				// the listener was started.
+				final Throwable th = invoke(registration, false);
+				if (th != null) {
+					throw Exceptions.show(th);
+				}
+			}
 		}
-		System.err.println("DefaultLifecycleController.add: <- " + listeners.size() + ", " + initializedListeners.size());
-		return listeners.add(pListener);
+		return true;
 	}
 
+	/**
+	 * Removes the given listener. If the listener has been started, and not
+	 * yet been shut down, then it is shut down immediately. (Prior versions
+	 * didn't shut down a removed listener.)
+	 */
 	@Override
-	public synchronized boolean remove(ILifecycleListener pListener) {
-		System.err.println("DefaultLifecycleController.remove: -> " + pListener + ", " + state);
-		boolean result = initializedListeners.remove(pListener);
-		if (state == TERMINATED  &&  result) {
+	public boolean remove(ILifecycleListener pListener) {
+		final Registration registration = listeners.remove(pListener);
+		if (registration == null) {
+			return false;
+		}
+		if (log.isLoggable(Level.FINEST)) {
+			log.finest("Removed lifecycle listener " + pListener);
+		}
+		if (registration.started.compareAndSet(true, false)) {
 			try {
 				pListener.shutdown();
 			} catch (Throwable t) {
 				throw Exceptions.show(t);
 			}
 		}
-		System.err.println("DefaultLifecycleController.remove: <- " + result + ", " + listeners.size() + ", " + initializedListeners.size());
-		return result;
+		return true;
+	}
+
+	/**
+	 * Splits the registered listeners into batches, which must be started
+	 * one after another. All listeners within a batch may be started in
+	 * parallel.
+	 */
+	private List<List<Registration>> getBatches() {
+		final List<Registration> registrations = new ArrayList<Registration>(listeners.values());
+		Collections.sort(registrations, ORDER);
+		final List<List<Registration>> batches = new ArrayList<List<Registration>>();
+		List<Registration> batch = null;
+		for (Registration registration : registrations) {
+			if (batch == null  ||  !registration.parallel  ||  !batch.get(0).parallel
+					||  batch.get(0).phase != registration.phase) {
+				batch = new ArrayList<Registration>();
+				batches.add(batch);
+			}
+			batch.add(registration);
+		}
+		return batches;
+	}
+
+	/**
+	 * Starts, or shuts down, the given listeners. Returns the first failure,
+	 * if any. Further failures are logged.
+	 */
+	private Throwable run(List<Registration> pBatch, final boolean pStart) {
+		final Executor exec = executor;
+		Throwable th = null;
+		if (exec == null  ||  pBatch.size() == 1) {
+			for (Registration registration : pBatch) {
+				final Throwable t = invoke(registration, pStart);
+				if (t != null) {
+					if (pStart) {
+						return t;
+					}
+					th = failed(th, t, registration);
+				}
+			}
+			return th;
+		}
+		final List<FutureTask<Throwable>> tasks = new ArrayList<FutureTask<Throwable>>(pBatch.size());
+		for (final Registration registration : pBatch) {
+			final FutureTask<Throwable> task = new FutureTask<Throwable>(new Callable<Throwable>() {
+				@Override
+				public Throwable call() {
+					return invoke(registration, pStart);
+				}
+			});
+			tasks.add(task);
+			try {
+				exec.execute(task);
+			} catch (RejectedExecutionException e) {
+				task.run();
+			}
+		}
+		// A single deadline for the whole batch, so that hanging listeners
+		// don't add up their timeouts.
+		final long timeout = timeoutNanos;
+		final long deadline = System.nanoTime() + timeout;
+		for (int i = 0;  i < tasks.size();  i++) {
+			final FutureTask<Throwable> task = tasks.get(i);
+			final Registration registration = pBatch.get(i);
+			Throwable t;
+			try {
+				t = timeout == 0 ? task.get() : task.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+			} catch (TimeoutException e) {
+				task.cancel(true);
+				t = new IllegalStateException("The lifecycle listener " + registration.listener
+						+ " did not " + (pStart ? "start" : "shut down") + " within "
+						+ TimeUnit.NANOSECONDS.toMillis(timeout) + " milliseconds.");
+			} catch (ExecutionException e) {
+				t = e.getCause();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				t = e;
+			}
+			if (t != null) {
+				th = failed(th, t, registration);
+			}
+		}
+		return th;
+	}
+
+	private Throwable invoke(Registration pRegistration, boolean pStart) {
+		try {
+			if (pStart) {
+				if (pRegistration.started.compareAndSet(false, true)) {
+					try {
+						pRegistration.listener.start();
+					} catch (Throwable t) {
+						pRegistration.started.set(false);
+						throw t;
+					}
+				}
+			} else {
+				listeners.remove(pRegistration.listener, pRegistration);
+				if (pRegistration.started.compareAndSet(true, false)) {
+					pRegistration.listener.shutdown();
+				}
+			}
+			return null;
+		} catch (Throwable t) {
+			return t;
+		}
+	}
+
+	private Throwable failed(Throwable pFirst, Throwable pFailure, Registration pRegistration) {
+		if (pFirst == null) {
+			return pFailure;
+		}
+		log.log(Level.WARNING, "Lifecycle listener " + pRegistration.listener + " failed", pFailure);
+		return pFirst;
 	}
 }
@@ -16,17 +16,37 @@
 */
 package org.apache.commons.inject.impl;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
+
 import org.apache.commons.inject.api.IPoint;
 import org.apache.commons.inject.util.Exceptions;
 
 public class DefaultProvider<T> extends AbstractBaseProvider<T> {
+	private static final Object[] NO_ARGS = new Object[0];
+	private final MethodHandle handle;
+
 	public DefaultProvider(Class<T> pType, IPoint<T> pPoint) {
+		this(pType, pPoint, ClassMetadata.forClass(pType).getDefaultConstructorHandle());
+	}
+
+	DefaultProvider(Class<T> pType, IPoint<T> pPoint, MethodHandle pHandle) {
 		super(pType, pPoint);
+		handle = pHandle;
 	}
 	
 	@Override
 	public T get() {
 		try {
+			if (handle != null) {
+				try {
+					@SuppressWarnings("unchecked")
+					final T t = (T) (Object) handle.invokeExact(NO_ARGS);
+					return t;
+				} catch (Throwable th) {
+					throw new InvocationTargetException(th);
+				}
+			}
 			final T t = getType().newInstance();
 			return t;
 		} catch (Throwable t) {
@@ -0,0 +1,201 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.commons.inject.api.IBinding;
+import org.apache.commons.inject.api.IBuildProfiler;
+import org.apache.commons.inject.api.IKey;
+import org.apache.commons.inject.api.IProvider;
+import org.apache.commons.inject.api.Key;
+import org.apache.commons.inject.api.IBuildProfiler.Phase;
+import org.apache.commons.inject.impl.bind.EagerSingletonProvider;
+import org.apache.commons.inject.util.Exceptions;
+
+/**
+ * Creates the instances of eager singletons, after all bindings have been
+ * initialized. By default, the instances are created sequentially, in the
+ * order of the bindings. If an {@link Executor} is given, then the dependency
+ * graph of the eager singletons is computed, and the instances are created
+ * in waves: All singletons in a wave are created concurrently, and each
+ * singleton is created in a later wave than the singletons, on which it
+ * depends. Singletons with circular dependencies are created sequentially,
+ * after the last wave.
+ */
+public class EagerSingletonInitializer {
+	private final Executor executor;
+	private final IBuildProfiler profiler;
+	private Map<EagerSingletonProvider<?>, IKey<?>> keys;
+
+	/**
+	 * Creates a new instance.
+	 * @param pExecutor The executor, which is being used to create singletons
+	 *   concurrently, or null, if all singletons are being created by the
+	 *   current thread.
+	 * @param pProfiler The build profiler, which is being notified about
+	 *   every created singleton, or null.
+	 */
+	public EagerSingletonInitializer(Executor pExecutor, IBuildProfiler pProfiler) {
+		executor = pExecutor;
+		profiler = pProfiler;
+	}
+
+	/**
+	 * Creates the instances of all eager singletons in the given bindings.
+	 */
+	public void initialize(Map<IKey<?>, IBinding<?>> pBindings) {
+		final Map<EagerSingletonProvider<?>, IBinding<?>> bindings = new LinkedHashMap<EagerSingletonProvider<?>, IBinding<?>>();
+		keys = new IdentityHashMap<EagerSingletonProvider<?>, IKey<?>>();
+		for (Map.Entry<IKey<?>, IBinding<?>> en : pBindings.entrySet()) {
+			final IBinding<?> binding = en.getValue();
+			final IProvider<?> provider = MeteredProvider.unwrap(binding.getProvider());
+			if (provider instanceof EagerSingletonProvider) {
+				bindings.put((EagerSingletonProvider<?>) provider, binding);
+				keys.put((EagerSingletonProvider<?>) provider, en.getKey());
+			}
+		}
+		if (executor == null  ||  bindings.size() < 2) {
+			for (EagerSingletonProvider<?> provider : bindings.keySet()) {
+				create(provider);
+			}
+			return;
+		}
+		final Map<EagerSingletonProvider<?>, Set<EagerSingletonProvider<?>>> dependencies =
+				new LinkedHashMap<EagerSingletonProvider<?>, Set<EagerSingletonProvider<?>>>();
+		for (Map.Entry<EagerSingletonProvider<?>, IBinding<?>> en : bindings.entrySet()) {
+			dependencies.put(en.getKey(), getDependencies(en.getValue()));
+		}
+		final Set<EagerSingletonProvider<?>> created = newIdentitySet();
+		List<EagerSingletonProvider<?>> remaining = new ArrayList<EagerSingletonProvider<?>>(dependencies.keySet());
+		while (!remaining.isEmpty()) {
+			final List<EagerSingletonProvider<?>> wave = new ArrayList<EagerSingletonProvider<?>>();
+			final List<EagerSingletonProvider<?>> next = new ArrayList<EagerSingletonProvider<?>>();
+			for (EagerSingletonProvider<?> provider : remaining) {
+				if (created.containsAll(dependencies.get(provider))) {
+					wave.add(provider);
+				} else {
+					next.add(provider);
+				}
+			}
+			if (wave.isEmpty()) {
+				break;
+			}
+			create(wave);
+			created.addAll(wave);
+			remaining = next;
+		}
+		// Circular dependencies: Leave the detection, and the error message,
+		// to the providers.
+		for (EagerSingletonProvider<?> provider : remaining) {
+			create(provider);
+		}
+	}
+
+	/**
+	 * Returns the eager singletons, on which the given binding depends,
+	 * either directly, or via other bindings, which aren't eager singletons.
+	 */
+	protected Set<EagerSingletonProvider<?>> getDependencies(IBinding<?> pBinding) {
+		final Set<EagerSingletonProvider<?>> result = newIdentitySet();
+		final Set<IBinding<?>> visited = newIdentitySet();
+		final List<IBinding<?>> stack = new ArrayList<IBinding<?>>();
+		addDependencies(pBinding, stack);
+		while (!stack.isEmpty()) {
+			final IBinding<?> binding = stack.remove(stack.size()-1);
+			if (!visited.add(binding)) {
+				continue;
+			}
+			final IProvider<?> provider = MeteredProvider.unwrap(binding.getProvider());
+			if (provider instanceof EagerSingletonProvider) {
+				result.add((EagerSingletonProvider<?>) provider);
+			} else {
+				addDependencies(binding, stack);
+			}
+		}
+		return result;
+	}
+
+	private void addDependencies(IBinding<?> pBinding, List<IBinding<?>> pDependencies) {
+		if (pBinding instanceof IDependencyAware) {
+			((IDependencyAware) pBinding).addDependencies(pDependencies);
+		}
+	}
+
+	private void create(List<EagerSingletonProvider<?>> pWave) {
+		if (pWave.size() == 1) {
+			create(pWave.get(0));
+			return;
+		}
+		final List<FutureTask<Object>> tasks = new ArrayList<FutureTask<Object>>(pWave.size());
+		for (final EagerSingletonProvider<?> provider : pWave) {
+			final FutureTask<Object> task = new FutureTask<Object>(new Callable<Object>(){
+				@Override
+				public Object call() throws Exception {
+					return create(provider);
+				}
+			});
+			tasks.add(task);
+			try {
+				executor.execute(task);
+			} catch (RejectedExecutionException e) {
+				task.run();
+			}
+		}
+		Throwable error = null;
+		for (FutureTask<Object> task : tasks) {
+			try {
+				task.get();
+			} catch (ExecutionException e) {
+				if (error == null) {
+					error = e.getCause();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while creating eager singletons.", e);
+			}
+		}
+		if (error != null) {
+			throw Exceptions.show(error);
+		}
+	}
+
+	private Object create(EagerSingletonProvider<?> pProvider) {
+		if (profiler == null  ||  pProvider.isCreated()) {
+			return pProvider.get();
+		}
+		final BuildMeasurement measurement = BuildMeasurement.start(profiler);
+		final Object instance = pProvider.get();
+		measurement.itemCompleted(profiler, Phase.CREATE_EAGER_SINGLETONS, Key.toString(keys.get(pProvider)));
+		return instance;
+	}
+
+	private static <T> Set<T> newIdentitySet() {
+		return Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+	}
+}
@@ -16,41 +16,70 @@
 */
 package org.apache.commons.inject.impl;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collection;
 
 import org.apache.commons.inject.api.IBinding;
 import org.apache.commons.inject.api.IInjector;
 import org.apache.commons.inject.api.IPoint;
+import org.apache.commons.inject.api.IProvider;
 import org.apache.commons.inject.util.Exceptions;
 
 public class FactoryMethodProvider<T> extends AbstractBaseProvider<T> implements IInjectorAware {
 	private final Constructor<T> constructor;
 	private final Method method;
 	private final IBinding<Object>[] parameterBindings;
+	/**
+	 * The providers of the parameter bindings, or null, if this provider
+	 * hasn't been initialized yet.
+	 */
+	private IProvider<Object>[] parameterProviders;
+	/**
+	 * Invokes either the constructor, or the method, or null, in which
+	 * case reflection is used.
+	 */
+	private final MethodHandle handle;
 
 	public FactoryMethodProvider(Constructor<T> pConstructor, IPoint<T> pPoint, IBinding<Object>[] pBindings) {
+		this(pConstructor, pPoint, pBindings, MethodHandleCompiler.compile(pConstructor));
+	}
+
+	FactoryMethodProvider(Constructor<T> pConstructor, IPoint<T> pPoint, IBinding<Object>[] pBindings, MethodHandle pHandle) {
 		super(pConstructor.getDeclaringClass(), pPoint);
 		constructor = pConstructor;
 		method = null;
 		parameterBindings = pBindings;
+		handle = pHandle;
 	}
 
-	@SuppressWarnings("unchecked")
 	public FactoryMethodProvider(Method pMethod, IBinding<Object>[] pBindings, IPoint<T> pPoint) {
+		this(pMethod, pBindings, pPoint, MethodHandleCompiler.compile(pMethod));
+	}
+
+	@SuppressWarnings("unchecked")
+	FactoryMethodProvider(Method pMethod, IBinding<Object>[] pBindings, IPoint<T> pPoint, MethodHandle pHandle) {
 		super((Class<T>) pMethod.getReturnType(), pPoint);
 		constructor = null;
 		method = pMethod;
 		parameterBindings = pBindings;
-		
+		handle = pHandle;
 	}
 
 	@Override
 	public T get() {
 		try {
-			final Object[] parameters = new Object[parameterBindings.length];
-			for (int i = 0;  i < parameters.length;  i++) {
-				parameters[i] = parameterBindings[i].getProvider().get();
+			final Object[] parameters = Linker.getValues(parameterProviders, parameterBindings);
+			if (handle != null) {
+				try {
+					@SuppressWarnings("unchecked")
+					final T instance = (T) (Object) handle.invokeExact(parameters);
+					return instance;
+				} catch (Throwable t) {
+					throw new InvocationTargetException(t);
+				}
 			}
 			if (constructor == null) {
 				@SuppressWarnings("unchecked")
@@ -69,10 +98,19 @@ public class FactoryMethodProvider<T> extends AbstractBaseProvider<T> implements
 
 	@Override
 	public void init(IInjector pInjector) {
+		parameterProviders = Linker.link(parameterBindings);
 		for (IBinding<Object> binding : parameterBindings) {
 			if (binding instanceof IInjectorAware) {
 				((IInjectorAware) binding).init(pInjector);
 			}
 		}
 	}
+
+	@Override
+	public void addDependencies(Collection<IBinding<?>> pDependencies) {
+		super.addDependencies(pDependencies);
+		for (IBinding<Object> binding : parameterBindings) {
+			pDependencies.add(binding);
+		}
+	}
 }
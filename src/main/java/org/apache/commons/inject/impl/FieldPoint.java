@@ -16,30 +16,49 @@
 */
 package org.apache.commons.inject.impl;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
+import java.util.Collection;
 
 import org.apache.commons.inject.api.IBinding;
 import org.apache.commons.inject.api.IInjector;
 import org.apache.commons.inject.api.IPoint;
+import org.apache.commons.inject.api.IProvider;
 import org.apache.commons.inject.util.Exceptions;
 
-public class FieldPoint<T> implements IPoint<T>, IInjectorAware {
+public class FieldPoint<T> implements IPoint<T>, IInjectorAware, IDependencyAware {
 	private final IBinding<Object> binding;
+	/**
+	 * The bindings provider, or null, if this point hasn't been
+	 * initialized yet.
+	 */
+	private IProvider<Object> provider;
 	private final Field f;
+	private final MethodHandle setter;
 
 	FieldPoint(IBinding<Object> pBinding, Field pF) {
+		this(pBinding, pF, MethodHandleCompiler.compileSetter(pF));
+	}
+
+	FieldPoint(IBinding<Object> pBinding, Field pF, MethodHandle pSetter) {
 		binding = pBinding;
 		f = pF;
+		setter = pSetter;
 	}
 
 	@Override
 	public void injectTo(T pInstance, IInjector pInjector) {
 		try {
-			if (!f.isAccessible()) {
-				f.setAccessible(true);
+			final IProvider<Object> p = provider;
+			final Object value = p == null ? binding.getProvider().get() : p.get();
+			if (setter == null) {
+				if (!f.isAccessible()) {
+					f.setAccessible(true);
+				}
+				f.set(pInstance, value);
+			} else {
+				setter.invokeExact((Object) pInstance, value);
 			}
-			final Object value = binding.getProvider().get();
-			f.set(pInstance, value);
 		} catch (Throwable t) {
 			throw Exceptions.show(t);
 		}
@@ -47,8 +66,14 @@ public class FieldPoint<T> implements IPoint<T>, IInjectorAware {
 
 	@Override
 	public void init(IInjector pInjector) {
+		provider = binding.getProvider();
 		if (binding instanceof IInjectorAware) {
 			((IInjectorAware) binding).init(pInjector);
 		}
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void addDependencies(Collection<IBinding<?>> pDependencies) {
+		pDependencies.add(binding);
+	}
+}
@@ -16,47 +16,217 @@
 */
 package org.apache.commons.inject.impl;
 
+import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.inject.api.IBinding;
 import org.apache.commons.inject.api.IKey;
+import org.apache.commons.inject.util.AnnotationSet;
 
+/**
+ * The binding set, which is used by the {@link DefaultInjector}. Lookups
+ * are lock free: The bindings are kept in a concurrent table, and the
+ * {@link Bucket} of bindings per {@link ReducedKey} is never modified after
+ * it has been published. Instead, {@link #add(ReducedKey, MappedKey, IBinding)}
+ * replaces the bucket with an extended copy.
+ * The binding set of a child injector has a parent set: Keys, which aren't
+ * bound in the child, are looked up in the parent, so the child needs to
+ * store its own bindings only.
+ */
 public class ImmutableBindingSet extends AbstractBindingSet {
+	/**
+	 * Buckets with at least this number of bindings are indexed by
+	 * annotations. Smaller buckets are searched linearly.
+	 */
+	private static final int INDEX_THRESHOLD = 4;
+
+	/**
+	 * The bindings with the same type, and name, in the order of
+	 * registration. Large buckets have an additional index, which maps
+	 * the annotation sets to the first matching binding, and another one,
+	 * which maps the annotation types of bindings, that require an
+	 * annotation type, to these bindings. The indexes store positions in
+	 * the array of bindings, so that the first match in the order of
+	 * registration can be found without comparing the annotations of all
+	 * bindings.
+	 */
+	private static class Bucket {
+		private final BindingAndKey<?>[] bindings;
+		private final Map<AnnotationSet, Integer> index;
+		private final Map<Class<? extends Annotation>, int[]> typeIndex;
+
+		Bucket(BindingAndKey<?>[] pBindings) {
+			bindings = pBindings;
+			index = pBindings.length < INDEX_THRESHOLD ? null : newIndex(pBindings);
+			typeIndex = index == null ? null : newTypeIndex(pBindings);
+		}
+
+		private static Map<AnnotationSet, Integer> newIndex(BindingAndKey<?>[] pBindings) {
+			final Map<AnnotationSet, Integer> map = new HashMap<AnnotationSet, Integer>();
+			for (int i = 0;  i < pBindings.length;  i++) {
+				final MappedKey<?> key = pBindings[i].getKey();
+				final AnnotationSet annotations = key.getAnnotationSet();
+				if (annotations == null) {
+					// Unable to index this bucket.
+					return null;
+				}
+				if (key.getAnnotationType() == null  &&  !map.containsKey(annotations)) {
+					map.put(annotations, Integer.valueOf(i));
+				}
+			}
+			return map;
+		}
+
+		private static Map<Class<? extends Annotation>, int[]> newTypeIndex(BindingAndKey<?>[] pBindings) {
+			final Map<Class<? extends Annotation>, List<Integer>> lists = new HashMap<Class<? extends Annotation>, List<Integer>>();
+			for (int i = 0;  i < pBindings.length;  i++) {
+				final Class<? extends Annotation> annotationType = pBindings[i].getKey().getAnnotationType();
+				if (annotationType != null) {
+					List<Integer> list = lists.get(annotationType);
+					if (list == null) {
+						list = new ArrayList<Integer>(1);
+						lists.put(annotationType, list);
+					}
+					list.add(Integer.valueOf(i));
+				}
+			}
+			final Map<Class<? extends Annotation>, int[]> map = new HashMap<Class<? extends Annotation>, int[]>(lists.size()*4/3+1);
+			for (Map.Entry<Class<? extends Annotation>, List<Integer>> en : lists.entrySet()) {
+				final List<Integer> list = en.getValue();
+				final int[] positions = new int[list.size()];
+				for (int i = 0;  i < positions.length;  i++) {
+					positions[i] = list.get(i).intValue();
+				}
+				map.put(en.getKey(), positions);
+			}
+			return map;
+		}
+	}
+
+	private final ConcurrentMap<ReducedKey<?>, Bucket> table;
+	private final ImmutableBindingSet parent;
+
 	public ImmutableBindingSet(ResolvableBindingSet pResolvableBindings) {
+		this(pResolvableBindings, null);
+	}
+
+	/**
+	 * Creates a new instance.
+	 * @param pResolvableBindings The bindings of this set.
+	 * @param pParent The bindings of the parent injector, or null.
+	 */
+	public ImmutableBindingSet(ResolvableBindingSet pResolvableBindings, ImmutableBindingSet pParent) {
 		super(pResolvableBindings.map);
+		parent = pParent;
+		table = new ConcurrentHashMap<ReducedKey<?>, Bucket>(map.size());
+		for (Map.Entry<ReducedKey<?>, List<BindingAndKey<?>>> en : map.entrySet()) {
+			final List<BindingAndKey<?>> list = en.getValue();
+			table.put(en.getKey(), new Bucket(list.toArray(new BindingAndKey<?>[list.size()])));
+		}
 	}
 
 	<T> IBinding<T> getBinding(IKey<T> pKey) {
-		final ReducedKey<T> rkey = new ReducedKey<T>(pKey.getType(), pKey.getName());
-		final List<BindingAndKey<?>> list = map.get(rkey);
-		if (list != null) {
-			for (BindingAndKey<?> bak : list) {
-				if (isMatching(pKey, bak.getKey())) {
-					@SuppressWarnings("unchecked")
-					final IBinding<T> binding = (IBinding<T>) bak.getBinding();
-					return binding;
+		final ReducedKey<T> rkey = newReducedKey(pKey);
+		IBinding<T> binding = getBinding(pKey, rkey);
+		if (binding == null  &&  rkey.isGeneric()) {
+			// No binding for the parameterized type: Fall back to the raw type.
+			binding = getBinding(pKey, rkey.getRawKey());
+		}
+		if (binding == null  &&  parent != null) {
+			return parent.getBinding(pKey);
+		}
+		return binding;
+	}
+
+	private <T> IBinding<T> getBinding(IKey<T> pKey, ReducedKey<T> pRKey) {
+		final Bucket bucket = table.get(pRKey);
+		if (bucket == null) {
+			return null;
+		}
+		if (bucket.index == null) {
+			return findBinding(pKey, bucket.bindings);
+		}
+		final AnnotationSet annotations = getAnnotationSet(pKey);
+		if (annotations == null) {
+			return findBinding(pKey, bucket.bindings);
+		}
+		final Integer position = bucket.index.get(annotations);
+		// The bindings in the annotation set index are matching, because
+		// they don't require an annotation type.
+		int match = position == null ? -1 : position.intValue();
+		if (!bucket.typeIndex.isEmpty()) {
+			for (Annotation annotation : pKey.getAnnotations()) {
+				final int[] positions = bucket.typeIndex.get(annotation.annotationType());
+				if (positions == null) {
+					continue;
+				}
+				for (int pos : positions) {
+					if (match != -1  &&  pos >= match) {
+						break;
+					}
+					if (isMatchingAnnotationType(pKey, bucket.bindings[pos].getKey())) {
+						match = pos;
+						break;
+					}
 				}
 			}
 		}
+		if (match == -1) {
+			return null;
+		}
+		@SuppressWarnings("unchecked")
+		final IBinding<T> binding = (IBinding<T>) bucket.bindings[match].getBinding();
+		return binding;
+	}
+
+	private <T> IBinding<T> findBinding(IKey<T> pKey, BindingAndKey<?>[] pBindings) {
+		for (BindingAndKey<?> bak : pBindings) {
+			if (isMatching(pKey, bak.getKey())) {
+				@SuppressWarnings("unchecked")
+				final IBinding<T> binding = (IBinding<T>) bak.getBinding();
+				return binding;
+			}
+		}
 		return null;
 	}
 
+	/**
+	 * Adds a new binding. Concurrent invocations of this method must be
+	 * serialized by the caller, but concurrent invocations of
+	 * {@link #getBinding(IKey)} are safe.
+	 */
 	<T> void add(ReducedKey<T> pRKey, MappedKey<T> pMKey, IBinding<T> pBinding) {
-		final List<BindingAndKey<?>> list = findOrCreateList(pRKey);
 		final BindingAndKey<T> bak = new BindingAndKey<T>(pBinding, pMKey);
-		list.add(bak);
+		final Bucket bucket = table.get(pRKey);
+		final BindingAndKey<?>[] newBaks;
+		if (bucket == null) {
+			newBaks = new BindingAndKey<?>[]{ bak };
+		} else {
+			final BindingAndKey<?>[] baks = bucket.bindings;
+			newBaks = new BindingAndKey<?>[baks.length+1];
+			System.arraycopy(baks, 0, newBaks, 0, baks.length);
+			newBaks[baks.length] = bak;
+		}
+		table.put(pRKey, new Bucket(newBaks));
 	}
 
-	Iterable<IBinding<?>> getAllBindings() {
-		final List<IBinding<?>> list = new ArrayList<IBinding<?>>();
-		for (Map.Entry<ReducedKey<?>,List<BindingAndKey<?>>> en : map.entrySet()) {
-			final List<BindingAndKey<?>> baklist = en.getValue();
-			for (BindingAndKey<?> bak : baklist) {
-				list.add(bak.getBinding());
+	/**
+	 * Returns all bindings, together with their keys. The bindings of the
+	 * parent set, if any, are not included.
+	 */
+	Map<IKey<?>, IBinding<?>> getBindingMap() {
+		final Map<IKey<?>, IBinding<?>> map = new LinkedHashMap<IKey<?>, IBinding<?>>();
+		for (Bucket bucket : table.values()) {
+			for (BindingAndKey<?> bak : bucket.bindings) {
+				map.put(bak.getKey(), bak.getBinding());
 			}
 		}
-		return list;
+		return map;
 	}
 }
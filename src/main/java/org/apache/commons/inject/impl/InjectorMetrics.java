@@ -0,0 +1,137 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectInstance;
+import javax.management.ObjectName;
+
+import org.apache.commons.inject.api.IBinding;
+import org.apache.commons.inject.api.IBindingMetrics;
+import org.apache.commons.inject.api.IInjectorMetrics;
+import org.apache.commons.inject.api.IKey;
+import org.apache.commons.inject.api.InjectorMetricsMXBean;
+import org.apache.commons.inject.api.Key;
+
+/**
+ * Default implementation of {@link IInjectorMetrics}, and
+ * {@link InjectorMetricsMXBean}.
+ */
+public class InjectorMetrics implements IInjectorMetrics, InjectorMetricsMXBean {
+	private final int samplingInterval;
+	private final List<BindingMetrics> list = new CopyOnWriteArrayList<BindingMetrics>();
+	/**
+	 * The metrics by binding. Bindings don't override {@link Object#equals(Object)},
+	 * so this is an identity map.
+	 */
+	private final Map<IBinding<?>, BindingMetrics> map = new ConcurrentHashMap<IBinding<?>, BindingMetrics>();
+	/**
+	 * The injectors bindings, which are used to find the binding in
+	 * {@link #getBindingMetrics(IKey)}.
+	 */
+	private volatile ImmutableBindingSet bindings;
+
+	/**
+	 * Creates a new instance.
+	 * @param pSamplingInterval On average, every n-th creation is timed.
+	 */
+	public InjectorMetrics(int pSamplingInterval) {
+		if (pSamplingInterval <= 0) {
+			throw new IllegalArgumentException("The sampling interval must be positive.");
+		}
+		samplingInterval = pSamplingInterval;
+	}
+
+	/**
+	 * Creates the metrics for a new binding. The binding must be
+	 * registered via {@link #add(IBinding, BindingMetrics)}, as soon
+	 * as it has been created.
+	 */
+	public BindingMetrics add(IKey<?> pKey) {
+		final BindingMetrics metrics = new BindingMetrics(Key.toString(pKey), samplingInterval);
+		list.add(metrics);
+		return metrics;
+	}
+
+	/**
+	 * Registers the binding, to which the given metrics belong.
+	 */
+	public void add(IBinding<?> pBinding, BindingMetrics pMetrics) {
+		map.put(pBinding, pMetrics);
+	}
+
+	void setBindings(ImmutableBindingSet pBindings) {
+		bindings = pBindings;
+	}
+
+	@Override
+	public List<IBindingMetrics> getBindingMetrics() {
+		return new ArrayList<IBindingMetrics>(list);
+	}
+
+	@Override
+	public IBindingMetrics getBindingMetrics(IKey<?> pKey) {
+		if (pKey == null) {
+			throw new NullPointerException("The key must not be null.");
+		}
+		final ImmutableBindingSet bnds = bindings;
+		final IBinding<?> binding = bnds == null ? null : bnds.getBinding(pKey);
+		return binding == null ? null : map.get(binding);
+	}
+
+	@Override
+	public ObjectInstance registerMBean(MBeanServer pServer, ObjectName pName) throws JMException {
+		if (pServer == null) {
+			throw new NullPointerException("The MBean server must not be null.");
+		}
+		if (pName == null) {
+			throw new NullPointerException("The MBean name must not be null.");
+		}
+		return pServer.registerMBean(this, pName);
+	}
+
+	@Override
+	public IBindingMetrics[] getBindings() {
+		final List<IBindingMetrics> metrics = getBindingMetrics();
+		return metrics.toArray(new IBindingMetrics[metrics.size()]);
+	}
+
+	@Override
+	public long getCallCount() {
+		long count = 0;
+		for (IBindingMetrics metrics : getBindingMetrics()) {
+			count += metrics.getCallCount();
+		}
+		return count;
+	}
+
+	@Override
+	public long getCreationCount() {
+		long count = 0;
+		for (IBindingMetrics metrics : getBindingMetrics()) {
+			count += metrics.getCreationCount();
+		}
+		return count;
+	}
+}
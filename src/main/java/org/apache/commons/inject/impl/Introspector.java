@@ -16,19 +16,13 @@
 */
 package org.apache.commons.inject.impl;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.inject.Inject;
-import javax.inject.Named;
 import javax.inject.Provider;
 
 import org.apache.commons.inject.api.IBinding;
@@ -36,13 +30,17 @@ import org.apache.commons.inject.api.IInjector;
 import org.apache.commons.inject.api.IKey;
 import org.apache.commons.inject.api.IPoint;
 import org.apache.commons.inject.api.IProvider;
+import org.apache.commons.inject.api.IStaticFactory;
+import org.apache.commons.inject.api.IStaticInjector;
+import org.apache.commons.inject.api.IStaticInjector.Dependency;
 import org.apache.commons.inject.api.Key;
+import org.apache.commons.inject.impl.ClassMetadata.InjectableField;
+import org.apache.commons.inject.impl.ClassMetadata.InjectableMember;
+import org.apache.commons.inject.impl.ClassMetadata.Level;
 import org.apache.commons.inject.impl.bind.DefaultBinding;
-import org.apache.commons.inject.util.Generics;
 
 public class Introspector {
 	private static final Introspector introspector = new Introspector();
-	private static final Class<Object> PROVIDER_CLASS = Generics.cast(Provider.class);
 
 	// Private constructor, to avoid accidental instantiation.
 	private Introspector() {
@@ -53,147 +51,125 @@ public class Introspector {
 	}
 
 	public <T> AbstractBaseProvider<T> getProvider(Class<T> pType, IPoint<T> pPoint, IMutableBindingSource pBindings) {
-		@SuppressWarnings("unchecked")
-		final Constructor<T>[] constructors = (Constructor<T>[]) pType.getDeclaredConstructors();
-		for (Constructor<T> constructor : constructors) {
-			if (constructor.isAnnotationPresent(Inject.class)) {
-				return getProvider(constructor, pBindings);
-			}
+		final IStaticInjector<T> staticInjector = StaticInjectors.getInjector(pType);
+		if (staticInjector instanceof IStaticFactory) {
+			final IStaticFactory<T> staticFactory = (IStaticFactory<T>) staticInjector;
+			final IBinding<Object>[] parameterBindings = getBindings(staticFactory.getConstructorDependencies(), pBindings,
+					"Required to create an instance of " + pType.getName());
+			return new StaticInjectorProvider<T>(pType, pPoint, staticFactory, parameterBindings);
+		}
+		final ClassMetadata metadata = ClassMetadata.forClass(pType);
+		final InjectableMember<Constructor<?>> constructor = metadata.getConstructor();
+		if (constructor != null) {
+			return getProvider(constructor, pBindings);
 		}
-		return new DefaultProvider<T>(pType, pPoint);
+		return new DefaultProvider<T>(pType, pPoint, metadata.getDefaultConstructorHandle());
 	}
 
 	public <T> AbstractBaseProvider<T> getProvider(Constructor<? extends T> pConstructor, IMutableBindingSource pBindings) {
+		final InjectableMember<Constructor<?>> constructor = ClassMetadata.forClass(pConstructor.getDeclaringClass()).getConstructor();
+		if (constructor != null  &&  constructor.getMember().equals(pConstructor)) {
+			return getProvider(constructor, pBindings);
+		}
+		return getProvider(ClassMetadata.newMember(pConstructor), pBindings);
+	}
+
+	private <T> AbstractBaseProvider<T> getProvider(InjectableMember<Constructor<?>> pConstructor, IMutableBindingSource pBindings) {
 		@SuppressWarnings("unchecked")
-		final Class<Object>[] parameterClasses = (Class<Object>[]) pConstructor.getParameterTypes();
-		final Type[] parameterTypes = pConstructor.getGenericParameterTypes();
-		final Annotation[][] parameterAnnotations = pConstructor.getParameterAnnotations();
-		final IBinding<Object>[] parameterBindings = getBindings(parameterClasses, parameterTypes,
-				parameterAnnotations, pBindings,
-				"Required to invoke the constructor " + pConstructor);
-		@SuppressWarnings("unchecked")
-		final Constructor<T> constructor = (Constructor<T>) pConstructor;
+		final Constructor<T> constructor = (Constructor<T>) pConstructor.getMember();
+		final IBinding<Object>[] parameterBindings = getBindings(pConstructor.getDependencies(), pBindings,
+				"Required to invoke the constructor " + constructor);
 		return new FactoryMethodProvider<T>(constructor,
 											getPoint(constructor.getDeclaringClass(), pBindings),
-											parameterBindings);
+											parameterBindings, pConstructor.getHandle());
 	}
 
 	public <T> AbstractBaseProvider<T> getProvider(Method pMethod, IMutableBindingSource pBindings) {
-		@SuppressWarnings("unchecked")
-		final Class<Object>[] parameterClasses = (Class<Object>[]) pMethod.getParameterTypes();
-		final Type[] parameterTypes = pMethod.getGenericParameterTypes();
-		final Annotation[][] parameterAnnotations = pMethod.getParameterAnnotations();
-		final IBinding<Object>[] parameterBindings = getBindings(parameterClasses, parameterTypes, parameterAnnotations, pBindings,
+		final InjectableMember<Method> method = ClassMetadata.newMember(pMethod);
+		final IBinding<Object>[] parameterBindings = getBindings(method.getDependencies(), pBindings,
 			"Required to invoke the method " + pMethod);
 		@SuppressWarnings("unchecked")
 		final Class<T> cl = (Class<T>) pMethod.getReturnType();
 		final IPoint<T> point = getPoint(cl, pBindings);
-		return new FactoryMethodProvider<T>(pMethod, parameterBindings, point);
+		return new FactoryMethodProvider<T>(pMethod, parameterBindings, point, method.getHandle());
 	}
 
-	private IBinding<Object>[] getBindings(Class<Object>[] pParameterClasses, Type[] pParameterTypes, Annotation[][] pParameterAnnotations, IMutableBindingSource pBindings,
-			String pCause) {
+	private IBinding<Object> getProviderBinding(Type pType, String pName, IMutableBindingSource pBindings, String pCause) {
+		final IKey<Object> key = new Key<Object>(pType, pName);
+		final IBinding<Object> binding1 = pBindings.requireBinding(key, pCause);
+		final IProvider<Object> provider = new IProvider<Object>(){
+			@Override
+			public Object get() {
+				return new Provider<Object>(){
+					@Override
+					public Object get() {
+						return binding1.getProvider().get();
+					}
+				};
+			}
+
+			@Override
+			public Class<? extends Object> getType() {
+				return Provider.class;
+			}
+
+			@Override
+			public Object get(IInjector pInjector) {
+				return get();
+			}
+		};
+		final IPoint<Object> point = new IPoint<Object>(){
+			@Override
+			public void injectTo(Object pInstance,
+					IInjector pInjector) {
+				// Does nothing.
+			}
+		};
+		final IBinding<Object> binding2 = new DefaultBinding<Object>(provider, point);
+		return binding2;
+	}
+
+	private IBinding<Object>[] getBindings(Dependency[] pDependencies, IMutableBindingSource pBindings, String pCause) {
 		@SuppressWarnings("unchecked")
-		final IBinding<Object>[] bindings = (IBinding<Object>[]) Array.newInstance(IBinding.class, pParameterTypes.length);
+		final IBinding<Object>[] bindings = (IBinding<Object>[]) Array.newInstance(IBinding.class, pDependencies.length);
 		for (int i = 0;  i < bindings.length;  i++) {
-			final Class<Object> cl = pParameterClasses[i];
-			final Annotation[] annotations = pParameterAnnotations[i];
-			bindings[i] = getBinding(cl, pParameterTypes[i], annotations, pBindings, pCause);
+			bindings[i] = getBinding(pDependencies[i], pBindings, pCause);
 		}
 		return bindings;
 	}
 
-	private IBinding<Object> getBinding(Class<Object> pClass, Type pType, Annotation[] pAnnotations, IMutableBindingSource pBindings, String pCause) {
-		String name = Key.NO_NAME;
-		for (Annotation annotation : pAnnotations) {
-			if (annotation instanceof Named) {
-				name = ((Named) annotation).value();
-				break;
-			}
-		}
-		if (pClass == PROVIDER_CLASS  &&  pType != null  &&  pType instanceof ParameterizedType) {
-			final ParameterizedType ptype = (ParameterizedType) pType;
-			final Type[] typeArgs = ptype.getActualTypeArguments();
-			if (typeArgs != null  &&  typeArgs.length == 1) {
-				final Type typeArg = typeArgs[0];
-				if (typeArg instanceof Class<?>) {
-					@SuppressWarnings("unchecked")
-					final Class<Object> cl = (Class<Object>) typeArg;
-					final IKey<Object> key = new Key<Object>(cl, name);
-					final IBinding<Object> binding1 = pBindings.requireBinding(key, pCause);
-					final IProvider<Object> provider = new IProvider<Object>(){
-						@Override
-						public Object get() {
-							return new Provider<Object>(){
-								@Override
-								public Object get() {
-									return binding1.getProvider().get();
-								}
-							};
-						}
-
-						@Override
-						public Class<? extends Object> getType() {
-							return Provider.class;
-						}
-
-						@Override
-						public Object get(IInjector pInjector) {
-							return get();
-						}
-					};
-					final IPoint<Object> point = new IPoint<Object>(){
-						@Override
-						public void injectTo(Object pInstance,
-								IInjector pInjector) {
-							// Does nothing.
-						}
-					};
-					final IBinding<Object> binding2 = new DefaultBinding<Object>(provider, point);
-					return binding2;
-				}
-			}
+	private IBinding<Object> getBinding(Dependency pDependency, IMutableBindingSource pBindings, String pCause) {
+		final Type type = pDependency.getGenericType();
+		if (pDependency.isProvider()) {
+			return getProviderBinding(type, pDependency.getName(), pBindings, pCause);
 		}
-		final IKey<Object> key = new Key<Object>(pClass, name);
-		return pBindings.requireBinding(key, pCause);
+		return pBindings.requireBinding(new Key<Object>(type, pDependency.getName()), pCause);
 	}
 
 	public <T> ListPoint<T> getPoint(Class<T> pType, IMutableBindingSource pBindings) {
 		final List<IPoint<T>> points = new ArrayList<IPoint<T>>();
-		final Field[] fields = pType.getDeclaredFields();
-		for (final Field f : fields) {
-			if (Modifier.isStatic(f.getModifiers())) {
-				continue;
-			}
-			if (!f.isAnnotationPresent(Inject.class)) {
-				continue;
+		final String cause = "Required to inject to an instance of " + pType.getName();
+		// The static injector covers the superclasses, too, so the class
+		// needn't be introspected at all, if there is one.
+		@SuppressWarnings("unchecked")
+		final IStaticInjector<T> staticInjector = (IStaticInjector<T>) StaticInjectors.getInjector(pType);
+		if (staticInjector != null) {
+			final Dependency[][] dependencies = staticInjector.getMemberDependencies();
+			for (int i = 0;  i < dependencies.length;  i++) {
+				final IBinding<Object>[] bindings = getBindings(dependencies[i], pBindings, cause);
+				points.add(new StaticMemberPoint<T>(staticInjector, i, bindings));
 			}
-			@SuppressWarnings("unchecked")
-			Class<Object> type = (Class<Object>) f.getType();
-			Type genericType = f.getGenericType();
-			IBinding<Object> binding = null;
-			Annotation[] annotations = f.getAnnotations();
-			binding = getBinding(type, genericType, annotations, pBindings,
-					"Required to inject to an instance of " + pType.getName());
-			final IPoint<T> point = new FieldPoint<T>(binding, f);
-			points.add(point);
+			return new ListPoint<T>(points);
 		}
-		final Method[] methods = pType.getDeclaredMethods();
-		for (final Method m : methods) {
-			if (Modifier.isStatic(m.getModifiers())) {
-				continue;
+		for (Level level : ClassMetadata.forClass(pType).getLevels()) {
+			for (InjectableField f : level.getFields()) {
+				final IBinding<Object> binding = getBinding(f.getDependency(), pBindings, cause);
+				points.add(new FieldPoint<T>(binding, f.getField(), f.getSetter()));
 			}
-			if (!m.isAnnotationPresent(Inject.class)) {
-				continue;
+			for (InjectableMember<Method> m : level.getMethods()) {
+				final IBinding<Object>[] bindings = getBindings(m.getDependencies(), pBindings, cause);
+				points.add(new MethodPoint<T>(bindings, m.getMember(), m.getHandle()));
 			}
-			@SuppressWarnings("unchecked")
-			Class<Object>[] parameterClasses = (Class<Object>[]) m.getParameterTypes();
-			Type[] parameterTypes = m.getGenericParameterTypes();
-			Annotation[][] annotations = m.getParameterAnnotations();
-			final IBinding<Object>[] bindings = getBindings(parameterClasses, parameterTypes, annotations, pBindings,
-					"Required to inject to an instance of " + pType.getName());
-			final IPoint<T> point = new MethodPoint<T>(bindings, m);
-			points.add(point);
 		}
 		return new ListPoint<T>(points);
 	}
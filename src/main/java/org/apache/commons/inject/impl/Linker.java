@@ -0,0 +1,65 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.lang.reflect.Array;
+
+import org.apache.commons.inject.api.IBinding;
+import org.apache.commons.inject.api.IProvider;
+
+/**
+ * Helper for providers, and points, which replace their dependency bindings
+ * by the bindings providers, when they are initialized: Dependency bindings
+ * are typically instances of {@link BindingProxy}, which are only resolved
+ * after the provider, or point, has been created. Linking removes that
+ * indirection from the hot path.
+ */
+class Linker {
+	/**
+	 * Returns the providers of the given bindings. Must not be invoked before
+	 * the bindings have been resolved, typically from
+	 * {@link IInjectorAware#init(org.apache.commons.inject.api.IInjector)}.
+	 */
+	static IProvider<Object>[] link(IBinding<Object>[] pBindings) {
+		@SuppressWarnings("unchecked")
+		final IProvider<Object>[] providers = (IProvider<Object>[]) Array.newInstance(IProvider.class, pBindings.length);
+		for (int i = 0;  i < providers.length;  i++) {
+			providers[i] = pBindings[i].getProvider();
+		}
+		return providers;
+	}
+
+	/**
+	 * Creates the values, which are being injected.
+	 * @param pProviders The linked providers, or null, if the caller hasn't
+	 *   been initialized. In the latter case, the bindings are used.
+	 * @param pBindings The dependency bindings.
+	 */
+	static Object[] getValues(IProvider<Object>[] pProviders, IBinding<Object>[] pBindings) {
+		final Object[] values = new Object[pBindings.length];
+		if (pProviders == null) {
+			for (int i = 0;  i < values.length;  i++) {
+				values[i] = pBindings[i].getProvider().get();
+			}
+		} else {
+			for (int i = 0;  i < values.length;  i++) {
+				values[i] = pProviders[i].get();
+			}
+		}
+		return values;
+	}
+}
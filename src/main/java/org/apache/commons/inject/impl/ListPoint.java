@@ -16,12 +16,14 @@
 */
 package org.apache.commons.inject.impl;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.apache.commons.inject.api.IBinding;
 import org.apache.commons.inject.api.IInjector;
 import org.apache.commons.inject.api.IPoint;
 
-public class ListPoint<T> implements IPoint<T>, IInjectorAware {
+public class ListPoint<T> implements IPoint<T>, IInjectorAware, IDependencyAware {
 	private final List<IPoint<T>> list;
 	
 	public ListPoint(List<IPoint<T>> pPoints) {
@@ -49,4 +51,12 @@ public class ListPoint<T> implements IPoint<T>, IInjectorAware {
 		}
 	}
 
+	@Override
+	public void addDependencies(Collection<IBinding<?>> pDependencies) {
+		for (IPoint<T> point : list) {
+			if (point instanceof IDependencyAware) {
+				((IDependencyAware) point).addDependencies(pDependencies);
+			}
+		}
+	}
 }
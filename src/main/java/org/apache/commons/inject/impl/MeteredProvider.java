@@ -0,0 +1,102 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.Collection;
+
+import org.apache.commons.inject.api.IBinding;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.IProvider;
+
+/**
+ * A provider, which records metrics: Used to wrap a bindings scoped provider
+ * (counting calls), and its base provider (counting, and timing creations),
+ * if metrics are enabled. Otherwise, no instances are created.
+ */
+public class MeteredProvider<T> implements IProvider<T>, IInjectorAware, IDependencyAware {
+	private final IProvider<T> provider;
+	private final BindingMetrics metrics;
+	private final boolean countingCreations;
+
+	/**
+	 * Creates a new instance.
+	 * @param pProvider The wrapped provider.
+	 * @param pMetrics The metrics, which are being updated.
+	 * @param pCountingCreations True, if the wrapped provider is a base
+	 *   provider, and every call creates an instance. False, if the wrapped
+	 *   provider is a scoped provider.
+	 */
+	public MeteredProvider(IProvider<T> pProvider, BindingMetrics pMetrics, boolean pCountingCreations) {
+		provider = pProvider;
+		metrics = pMetrics;
+		countingCreations = pCountingCreations;
+	}
+
+	/**
+	 * Returns the given provider, or, if that is a metered provider, the
+	 * wrapped provider.
+	 */
+	public static IProvider<?> unwrap(IProvider<?> pProvider) {
+		if (pProvider instanceof MeteredProvider) {
+			return ((MeteredProvider<?>) pProvider).provider;
+		}
+		return pProvider;
+	}
+
+	@Override
+	public T get() {
+		if (countingCreations) {
+			final long start = metrics.startCreation();
+			final T t = provider.get();
+			metrics.endCreation(start);
+			return t;
+		}
+		metrics.recordCall();
+		return provider.get();
+	}
+
+	@Override
+	public T get(IInjector pInjector) {
+		if (countingCreations) {
+			final long start = metrics.startCreation();
+			final T t = provider.get(pInjector);
+			metrics.endCreation(start);
+			return t;
+		}
+		metrics.recordCall();
+		return provider.get(pInjector);
+	}
+
+	@Override
+	public Class<? extends T> getType() {
+		return provider.getType();
+	}
+
+	@Override
+	public void init(IInjector pInjector) {
+		if (provider instanceof IInjectorAware) {
+			((IInjectorAware) provider).init(pInjector);
+		}
+	}
+
+	@Override
+	public void addDependencies(Collection<IBinding<?>> pDependencies) {
+		if (provider instanceof IDependencyAware) {
+			((IDependencyAware) provider).addDependencies(pDependencies);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Converts constructors, methods, and fields into {@link MethodHandle
+ * method handles}. The handles are created once, when a binding is being
+ * built, and replace the reflective invocations, which have been used by
+ * the {@link FactoryMethodProvider}, the {@link FieldPoint}, and the
+ * {@link MethodPoint} before. All methods return null, if no handle can
+ * be created (for example, because access is denied). In that case, the
+ * caller is supposed to fall back to reflection. Like a reflective
+ * invocation, the caller is supposed to wrap exceptions, which are thrown
+ * by the invoked constructor, or method, into an
+ * {@link java.lang.reflect.InvocationTargetException}.
+ */
+public class MethodHandleCompiler {
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final MethodType SETTER_TYPE = MethodType.methodType(Void.TYPE, Object.class, Object.class);
+
+	// Private constructor, to avoid accidental instantiation.
+	private MethodHandleCompiler() {
+	}
+
+	/**
+	 * Returns a handle of the type {@code (Object[])Object}, which invokes
+	 * the given constructor.
+	 */
+	public static MethodHandle compile(Constructor<?> pConstructor) {
+		try {
+			makeAccessible(pConstructor);
+			final MethodHandle mh = LOOKUP.unreflectConstructor(pConstructor);
+			return spread(mh, pConstructor.getParameterTypes().length);
+		} catch (Throwable t) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns a handle, which invokes the given method. If the method is
+	 * static (a factory method), then the handles type is
+	 * {@code (Object[])Object}. Otherwise, the method is supposed to be
+	 * invoked for injection only, the result is discarded, and the handles
+	 * type is {@code (Object,Object[])void}, the first parameter being the
+	 * target object.
+	 */
+	public static MethodHandle compile(Method pMethod) {
+		try {
+			makeAccessible(pMethod);
+			final MethodHandle mh = LOOKUP.unreflect(pMethod);
+			final MethodHandle spreader = spread(mh, pMethod.getParameterTypes().length);
+			if (Modifier.isStatic(pMethod.getModifiers())) {
+				return spreader;
+			} else {
+				return spreader.asType(spreader.type().changeReturnType(Void.TYPE));
+			}
+		} catch (Throwable t) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns a handle of the type {@code (Object,Object)void}, which sets
+	 * the given (non-static) field.
+	 */
+	public static MethodHandle compileSetter(Field pField) {
+		if (Modifier.isStatic(pField.getModifiers())) {
+			return null;
+		}
+		try {
+			makeAccessible(pField);
+			return LOOKUP.unreflectSetter(pField).asType(SETTER_TYPE);
+		} catch (Throwable t) {
+			return null;
+		}
+	}
+
+	private static void makeAccessible(AccessibleObject pObject) {
+		// Throws an exception, if access is denied, which is handled by the caller.
+		pObject.setAccessible(true);
+	}
+
+	private static MethodHandle spread(MethodHandle pHandle, int pNumArgs) {
+		return pHandle.asType(pHandle.type().generic()).asSpreader(Object[].class, pNumArgs);
+	}
+}
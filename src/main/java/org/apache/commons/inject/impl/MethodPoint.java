@@ -16,33 +16,53 @@
 */
 package org.apache.commons.inject.impl;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collection;
 
 import org.apache.commons.inject.api.IBinding;
 import org.apache.commons.inject.api.IInjector;
 import org.apache.commons.inject.api.IPoint;
+import org.apache.commons.inject.api.IProvider;
 import org.apache.commons.inject.util.Exceptions;
 
-public class MethodPoint<T> implements IPoint<T>, IInjectorAware {
+public class MethodPoint<T> implements IPoint<T>, IInjectorAware, IDependencyAware {
 	private final IBinding<Object>[] bindings;
+	/**
+	 * The providers of the bindings, or null, if this point hasn't been
+	 * initialized yet.
+	 */
+	private IProvider<Object>[] providers;
 	private final Method method;
+	private final MethodHandle handle;
 
 	public MethodPoint(IBinding<Object>[] pBindings, Method pMethod) {
+		this(pBindings, pMethod, MethodHandleCompiler.compile(pMethod));
+	}
+
+	MethodPoint(IBinding<Object>[] pBindings, Method pMethod, MethodHandle pHandle) {
 		bindings = pBindings;
 		method = pMethod;
+		handle = pHandle;
 	}
 
 	@Override
 	public void injectTo(T pInstance, IInjector pInjector) {
 		try {
-			final Object[] args = new Object[bindings.length];
-			for (int i = 0;  i < args.length;  i++) {
-				args[i] = bindings[i].getProvider().get();
+			final Object[] args = Linker.getValues(providers, bindings);
+			if (handle == null) {
+				if (!method.isAccessible()) {
+					method.setAccessible(true);
+				}
+				method.invoke(pInstance, args);
+			} else {
+				try {
+					handle.invokeExact((Object) pInstance, args);
+				} catch (Throwable t) {
+					throw new InvocationTargetException(t);
+				}
 			}
-			if (!method.isAccessible()) {
-				method.setAccessible(true);
-			}
-			method.invoke(pInstance, args);
 		} catch (Throwable t) {
 			throw Exceptions.show(t);
 		}
@@ -50,10 +70,18 @@ public class MethodPoint<T> implements IPoint<T>, IInjectorAware {
 
 	@Override
 	public void init(IInjector pInjector) {
+		providers = Linker.link(bindings);
 		for (IBinding<Object> binding : bindings) {
 			if (binding instanceof IInjectorAware) {
 				((IInjectorAware) binding).init(pInjector);
 			}
 		}
 	}
+
+	@Override
+	public void addDependencies(Collection<IBinding<?>> pDependencies) {
+		for (IBinding<Object> binding : bindings) {
+			pDependencies.add(binding);
+		}
+	}
 }
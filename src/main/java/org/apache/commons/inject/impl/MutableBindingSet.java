@@ -35,18 +35,36 @@ public class MutableBindingSet extends AbstractBindingSet implements IMutableBin
 
 	@Override
 	public <T> IBinding<T> requireBinding(IKey<T> pKey, String pCause) {
-		final MappedKey<T> mkey = new MappedKey<T>(pKey.getType(), pKey.getName(), pKey.getAnnotations(), null);
+		final MappedKey<T> mkey = new MappedKey<T>(pKey.getType(), pKey.getGenericType(), pKey.getName(), pKey.getAnnotations(), null);
 		final ReducedKey<T> rkey = newReducedKey(pKey);
 		final List<BindingAndKey<?>> list = findOrCreateList(rkey);
-		for (BindingAndKey<?> bak : list) {
+		final IBinding<T> matchingBinding = findBinding(pKey, list);
+		if (matchingBinding != null) {
+			return matchingBinding;
+		}
+		if (rkey.isGeneric()) {
+			final List<BindingAndKey<?>> rawList = map.get(rkey.getRawKey());
+			if (rawList != null) {
+				final IBinding<T> rawBinding = findBinding(pKey, rawList);
+				if (rawBinding != null) {
+					return rawBinding;
+				}
+			}
+		}
+		// Not yet registered: Create a proxy, which is resolved later on.
+		final IBinding<T> binding = new BindingProxy<T>(pCause);
+		list.add(new BindingAndKey<T>(binding, mkey));
+		return binding;
+	}
+
+	private <T> IBinding<T> findBinding(IKey<T> pKey, List<BindingAndKey<?>> pList) {
+		for (BindingAndKey<?> bak : pList) {
 			if (isMatching(pKey, bak.getKey())) {
 				@SuppressWarnings("unchecked")
 				final IBinding<T> binding = (IBinding<T>) bak.getBinding();
 				return binding;
 			}
 		}
-		final IBinding<T> binding = new BindingProxy<T>(pCause);
-		list.add(new BindingAndKey<T>(binding, mkey));
-		return binding;
+		return null;
 	}
 }
@@ -24,8 +24,21 @@ import org.apache.commons.inject.api.Key;
 import org.apache.commons.inject.api.NoSuchBindingException;
 
 public class ResolvableBindingSet extends AbstractBindingSet {
+	private final ImmutableBindingSet parent;
+
 	public ResolvableBindingSet(MutableBindingSet pMutableBindings) {
+		this(pMutableBindings, null);
+	}
+
+	/**
+	 * Creates a new instance.
+	 * @param pMutableBindings The bindings, which are being resolved.
+	 * @param pParent The bindings of the parent injector, or null. Keys,
+	 *   which aren't bound in this set, are resolved against the parent.
+	 */
+	public ResolvableBindingSet(MutableBindingSet pMutableBindings, ImmutableBindingSet pParent) {
 		super(pMutableBindings.map);
+		parent = pParent;
 	}
 
 	public void resolve() {
@@ -39,13 +52,25 @@ public class ResolvableBindingSet extends AbstractBindingSet {
 					if (bnd.isResolvedLater()) {
 						continue;
 					}
-					@SuppressWarnings("unchecked")
-					final IBinding<Object> realBinding = (IBinding<Object>) findRealBinding(list, bak.getKey());
+					IBinding<?> realBinding = findRealBinding(list, bak.getKey());
+					final ReducedKey<?> rkey = en.getKey();
+					if (realBinding == null  &&  rkey.isGeneric()) {
+						// No binding for the parameterized type: Fall back to the raw type.
+						final List<BindingAndKey<?>> rawList = map.get(rkey.getRawKey());
+						if (rawList != null) {
+							realBinding = findRealBinding(rawList, bak.getKey());
+						}
+					}
+					if (realBinding == null  &&  parent != null) {
+						realBinding = parent.getBinding(bak.getKey());
+					}
 					if (realBinding == null) {
 						throw new NoSuchBindingException("No Binding has been registered for key "
 								+ Key.toString(bak.getKey()) + ". " + ((BindingProxy<?>) binding).getCause());
 					}
-					bnd.setBinding(realBinding);
+					@SuppressWarnings("unchecked")
+					final IBinding<Object> objectBinding = (IBinding<Object>) realBinding;
+					bnd.setBinding(objectBinding);
 				}
 			}
 		}
@@ -57,7 +82,9 @@ public class ResolvableBindingSet extends AbstractBindingSet {
 			if (bak.getKey() == pKey) {
 				continue;
 			}
-			if (!isMatching(bak.getKey(), pKey)) {
+			// The proxies key is the search key, because it has been taken
+			// from an injection point.
+			if (!isMatching(pKey, bak.getKey())) {
 				continue;
 			}
 			return bak.getBinding();
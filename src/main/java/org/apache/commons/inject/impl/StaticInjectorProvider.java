@@ -0,0 +1,71 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.Collection;
+
+import org.apache.commons.inject.api.IBinding;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.IPoint;
+import org.apache.commons.inject.api.IProvider;
+import org.apache.commons.inject.api.IStaticFactory;
+import org.apache.commons.inject.util.Exceptions;
+
+/**
+ * A base provider, which creates instances by invoking a generated
+ * {@link IStaticFactory}, rather than a constructor.
+ */
+public class StaticInjectorProvider<T> extends AbstractBaseProvider<T> {
+	private final IStaticFactory<T> staticFactory;
+	private final IBinding<Object>[] parameterBindings;
+	private IProvider<Object>[] parameterProviders;
+
+	public StaticInjectorProvider(Class<T> pType, IPoint<T> pPoint, IStaticFactory<T> pFactory,
+			IBinding<Object>[] pBindings) {
+		super(pType, pPoint);
+		staticFactory = pFactory;
+		parameterBindings = pBindings;
+	}
+
+	@Override
+	public T get() {
+		try {
+			final Object[] parameters = Linker.getValues(parameterProviders, parameterBindings);
+			return staticFactory.newInstance(parameters);
+		} catch (Throwable t) {
+			throw Exceptions.show(t);
+		}
+	}
+
+	@Override
+	public void init(IInjector pInjector) {
+		parameterProviders = Linker.link(parameterBindings);
+		for (IBinding<Object> binding : parameterBindings) {
+			if (binding instanceof IInjectorAware) {
+				((IInjectorAware) binding).init(pInjector);
+			}
+		}
+	}
+
+	@Override
+	public void addDependencies(Collection<IBinding<?>> pDependencies) {
+		super.addDependencies(pDependencies);
+		for (IBinding<Object> binding : parameterBindings) {
+			pDependencies.add(binding);
+		}
+	}
+}
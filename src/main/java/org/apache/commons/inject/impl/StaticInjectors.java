@@ -0,0 +1,71 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import org.apache.commons.inject.api.IStaticInjector;
+
+/**
+ * Locates the {@link IStaticInjector static injectors}, which have been
+ * generated at compile time. The result of the lookup is cached per class,
+ * so the class loader is asked only once.
+ */
+public class StaticInjectors {
+	private static final ClassValue<IStaticInjector<?>> injectors = new ClassValue<IStaticInjector<?>>() {
+		@Override
+		protected IStaticInjector<?> computeValue(Class<?> pType) {
+			return findInjector(pType);
+		}
+	};
+
+	// Private constructor, to avoid accidental instantiation.
+	private StaticInjectors() {
+	}
+
+	/**
+	 * Returns the static injector for the given class, or null, if no
+	 * such injector has been generated.
+	 */
+	public static <T> IStaticInjector<T> getInjector(Class<T> pType) {
+		@SuppressWarnings("unchecked")
+		final IStaticInjector<T> injector = (IStaticInjector<T>) injectors.get(pType);
+		return injector;
+	}
+
+	static IStaticInjector<?> findInjector(Class<?> pType) {
+		final ClassLoader cl = pType.getClassLoader();
+		if (cl == null  ||  pType.isArray()  ||  pType.isPrimitive()) {
+			return null;
+		}
+		final String name = pType.getName() + IStaticInjector.CLASS_NAME_SUFFIX;
+		final Class<?> injectorClass;
+		try {
+			injectorClass = Class.forName(name, true, cl);
+		} catch (ClassNotFoundException e) {
+			return null;
+		} catch (LinkageError e) {
+			return null;
+		}
+		if (!IStaticInjector.class.isAssignableFrom(injectorClass)) {
+			return null;
+		}
+		try {
+			return (IStaticInjector<?>) injectorClass.getDeclaredConstructor().newInstance();
+		} catch (Throwable t) {
+			return null;
+		}
+	}
+}
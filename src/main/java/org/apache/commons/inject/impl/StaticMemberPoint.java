@@ -0,0 +1,74 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.Collection;
+
+import org.apache.commons.inject.api.IBinding;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.IPoint;
+import org.apache.commons.inject.api.IProvider;
+import org.apache.commons.inject.api.IStaticInjector;
+import org.apache.commons.inject.util.Exceptions;
+
+/**
+ * A point, which injects a field, or invokes a method, by calling a
+ * generated {@link IStaticInjector}.
+ */
+public class StaticMemberPoint<T> implements IPoint<T>, IInjectorAware, IDependencyAware {
+	private final IStaticInjector<T> staticInjector;
+	private final int index;
+	private final IBinding<Object>[] bindings;
+	/**
+	 * The providers of the bindings, or null, if this point hasn't been
+	 * initialized yet.
+	 */
+	private IProvider<Object>[] providers;
+
+	public StaticMemberPoint(IStaticInjector<T> pInjector, int pIndex, IBinding<Object>[] pBindings) {
+		staticInjector = pInjector;
+		index = pIndex;
+		bindings = pBindings;
+	}
+
+	@Override
+	public void injectTo(T pInstance, IInjector pInjector) {
+		try {
+			final Object[] args = Linker.getValues(providers, bindings);
+			staticInjector.injectMember(pInstance, index, args);
+		} catch (Throwable t) {
+			throw Exceptions.show(t);
+		}
+	}
+
+	@Override
+	public void init(IInjector pInjector) {
+		providers = Linker.link(bindings);
+		for (IBinding<Object> binding : bindings) {
+			if (binding instanceof IInjectorAware) {
+				((IInjectorAware) binding).init(pInjector);
+			}
+		}
+	}
+
+	@Override
+	public void addDependencies(Collection<IBinding<?>> pDependencies) {
+		for (IBinding<Object> binding : bindings) {
+			pDependencies.add(binding);
+		}
+	}
+}
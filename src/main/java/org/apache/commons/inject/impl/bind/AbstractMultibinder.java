@@ -0,0 +1,236 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl.bind;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.inject.api.IBinding;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.IKey;
+import org.apache.commons.inject.api.IPoint;
+import org.apache.commons.inject.api.IProvider;
+import org.apache.commons.inject.api.Key;
+import org.apache.commons.inject.api.bind.ILinkedBindingBuilder;
+import org.apache.commons.inject.impl.AbstractBindingSet.MappedKey;
+import org.apache.commons.inject.impl.IDependencyAware;
+import org.apache.commons.inject.impl.IInjectorAware;
+import org.apache.commons.inject.impl.MeteredProvider;
+import org.apache.commons.inject.impl.MutableBindingSet;
+
+/**
+ * Abstract base class of the multibinders, which collect the elements of
+ * a set, or map. Every element is an ordinary binding with a unique
+ * {@link Element} qualifier. After the element bindings have been built,
+ * {@link #build(MutableBindingSet)} creates the binding of the collection.
+ * @param <E> The element type.
+ * @param <C> The collection type.
+ */
+public abstract class AbstractMultibinder<E,C> {
+	private final IKey<C> key;
+	private final Class<E> elementType;
+	private final List<DefaultBindingBuilder<?>> builders;
+	private final List<IKey<E>> elementKeys = new ArrayList<IKey<E>>();
+
+	/**
+	 * Creates a new instance.
+	 * @param pKey The key of the collection.
+	 * @param pElementType The element type.
+	 * @param pBuilders The list of binding builders, to which the element
+	 *   builders are being added.
+	 */
+	protected AbstractMultibinder(IKey<C> pKey, Class<E> pElementType, List<DefaultBindingBuilder<?>> pBuilders) {
+		if (pElementType == null) {
+			throw new NullPointerException("The element type must not be null.");
+		}
+		key = pKey;
+		elementType = pElementType;
+		builders = pBuilders;
+	}
+
+	/**
+	 * Returns the key of the collection.
+	 */
+	public IKey<C> getKey() {
+		return key;
+	}
+
+	/**
+	 * Creates a binding builder for a new element.
+	 */
+	protected ILinkedBindingBuilder<E> newElement() {
+		final Annotation element = new ElementImpl(Key.toString(key), elementKeys.size());
+		final DefaultBindingBuilder<E> builder = new DefaultBindingBuilder<E>(elementType);
+		builders.add(builder);
+		elementKeys.add(new Key<E>(elementType, Key.NO_NAME, new Annotation[]{ element }));
+		return builder.annotatedWith(element);
+	}
+
+	/**
+	 * Creates a new, immutable, collection with the given elements.
+	 */
+	protected abstract C newCollection(Object[] pElements);
+
+	/**
+	 * Creates the binding of the collection, and adds it to the given
+	 * binding set. Must be invoked after the element bindings have been
+	 * built.
+	 */
+	public void build(MutableBindingSet pBindings) {
+		@SuppressWarnings("unchecked")
+		final IBinding<Object>[] bindings = (IBinding<Object>[]) Array.newInstance(IBinding.class, elementKeys.size());
+		for (int i = 0;  i < bindings.length;  i++) {
+			@SuppressWarnings("unchecked")
+			final IKey<Object> elementKey = (IKey<Object>) elementKeys.get(i);
+			bindings[i] = pBindings.requireBinding(elementKey, "Required as an element of " + Key.toString(key));
+		}
+		final IPoint<C> point = new IPoint<C>(){
+			@Override
+			public void injectTo(C pInstance, IInjector pInjector) {
+				// Does nothing, the elements are injected by their own bindings.
+			}
+		};
+		final MappedKey<C> mkey = new MappedKey<C>(key.getType(), key.getGenericType(), key.getName(), Key.NO_ANNOTATIONS, null);
+		pBindings.add(mkey, new DefaultBinding<C>(new CollectionProvider(bindings), point));
+	}
+
+	/**
+	 * The provider of the collection. If all elements are singletons,
+	 * then the collection is created only once, and reused.
+	 */
+	private class CollectionProvider implements IProvider<C>, IInjectorAware, IDependencyAware {
+		private final IBinding<Object>[] bindings;
+		/**
+		 * The providers of the element bindings, or null, if this provider
+		 * hasn't been initialized yet.
+		 */
+		private IProvider<Object>[] providers;
+		private boolean singletons;
+		private volatile C snapshot;
+
+		CollectionProvider(IBinding<Object>[] pBindings) {
+			bindings = pBindings;
+		}
+
+		@Override
+		public C get() {
+			C collection = snapshot;
+			if (collection == null) {
+				final IProvider<Object>[] p = providers;
+				final Object[] elements = new Object[bindings.length];
+				for (int i = 0;  i < elements.length;  i++) {
+					elements[i] = p == null ? bindings[i].getProvider().get() : p[i].get();
+				}
+				collection = newCollection(elements);
+				if (singletons) {
+					// Another thread may do the same concurrently, but
+					// that would create an equal collection.
+					snapshot = collection;
+				}
+			}
+			return collection;
+		}
+
+		@Override
+		public Class<? extends C> getType() {
+			return key.getType();
+		}
+
+		@Override
+		public C get(IInjector pInjector) {
+			return get();
+		}
+
+		@Override
+		public void init(IInjector pInjector) {
+			@SuppressWarnings("unchecked")
+			final IProvider<Object>[] p = (IProvider<Object>[]) Array.newInstance(IProvider.class, bindings.length);
+			boolean allSingletons = true;
+			for (int i = 0;  i < p.length;  i++) {
+				final IBinding<Object> binding = bindings[i];
+				if (binding instanceof IInjectorAware) {
+					((IInjectorAware) binding).init(pInjector);
+				}
+				p[i] = binding.getProvider();
+				if (!(MeteredProvider.unwrap(p[i]) instanceof AbstractSingletonProvider)) {
+					allSingletons = false;
+				}
+			}
+			singletons = allSingletons;
+			providers = p;
+		}
+
+		@Override
+		public void addDependencies(Collection<IBinding<?>> pDependencies) {
+			for (IBinding<Object> binding : bindings) {
+				pDependencies.add(binding);
+			}
+		}
+	}
+
+	/**
+	 * Implementation of the {@link Element} qualifier.
+	 */
+	private static class ElementImpl implements Element {
+		private final String collection;
+		private final int index;
+
+		ElementImpl(String pCollection, int pIndex) {
+			collection = pCollection;
+			index = pIndex;
+		}
+
+		@Override
+		public Class<? extends Annotation> annotationType() {
+			return Element.class;
+		}
+
+		@Override
+		public String collection() {
+			return collection;
+		}
+
+		@Override
+		public int index() {
+			return index;
+		}
+
+		@Override
+		public int hashCode() {
+			// As specified by Annotation.hashCode()
+			return ((127 * "collection".hashCode()) ^ collection.hashCode())
+					+ ((127 * "index".hashCode()) ^ Integer.valueOf(index).hashCode());
+		}
+
+		@Override
+		public boolean equals(Object pOther) {
+			if (!(pOther instanceof Element)) {
+				return false;
+			}
+			final Element other = (Element) pOther;
+			return index == other.index()  &&  collection.equals(other.collection());
+		}
+
+		@Override
+		public String toString() {
+			return "@" + Element.class.getName() + "(collection=" + collection + ", index=" + index + ")";
+		}
+	}
+}
@@ -0,0 +1,125 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl.bind;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.inject.api.IProvider;
+import org.apache.commons.inject.impl.AbstractScopedProvider;
+
+/**
+ * Abstract base class for scoped providers, which create a single instance.
+ * Once the instance has been created, {@link #get()} is a single volatile
+ * read. A lock is used only while the instance is being created. Circular
+ * dependencies (the instance being required to create itself, possibly via
+ * other singletons in other threads) are detected, and reported by an
+ * {@link IllegalStateException}, rather than causing a stack overflow, or
+ * a deadlock.
+ */
+public abstract class AbstractSingletonProvider<T> extends AbstractScopedProvider<T> {
+	/**
+	 * Maps threads to the provider, on which they are currently waiting.
+	 * Used to detect deadlocks.
+	 */
+	private static final ConcurrentMap<Thread, AbstractSingletonProvider<?>> waitingThreads
+		= new ConcurrentHashMap<Thread, AbstractSingletonProvider<?>>();
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private volatile T instance;
+	private volatile Thread creatingThread;
+
+	protected AbstractSingletonProvider(IProvider<T> pBaseProvider) {
+		super(pBaseProvider);
+	}
+
+	@Override
+	public T get() {
+		final T t = instance;
+		if (t != null) {
+			return t;
+		}
+		return create();
+	}
+
+	/**
+	 * Returns, whether the instance has already been created.
+	 */
+	public boolean isCreated() {
+		return instance != null;
+	}
+
+	private T create() {
+		final Thread currentThread = Thread.currentThread();
+		if (creatingThread == currentThread) {
+			throw newCircularDependencyException();
+		}
+		if (!lock.tryLock()) {
+			waitingThreads.put(currentThread, this);
+			try {
+				checkDeadlock(currentThread);
+				lock.lock();
+			} finally {
+				waitingThreads.remove(currentThread);
+			}
+		}
+		try {
+			T t = instance;
+			if (t == null) {
+				creatingThread = currentThread;
+				try {
+					t = super.get();
+					instance = t;
+				} finally {
+					creatingThread = null;
+				}
+			}
+			return t;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Follows the chain of threads, which are creating a singleton,
+	 * and waiting for another one. If that chain leads back to the current
+	 * thread, then waiting would cause a deadlock.
+	 */
+	private void checkDeadlock(Thread pCurrentThread) {
+		AbstractSingletonProvider<?> provider = this;
+		// The number of steps is limited by the number of waiting threads.
+		for (int i = 0;  i <= waitingThreads.size();  i++) {
+			final Thread thread = provider.creatingThread;
+			if (thread == null) {
+				return;
+			}
+			if (thread == pCurrentThread) {
+				throw newCircularDependencyException();
+			}
+			provider = waitingThreads.get(thread);
+			if (provider == null) {
+				return;
+			}
+		}
+	}
+
+	private IllegalStateException newCircularDependencyException() {
+		return new IllegalStateException("Circular dependency detected: The singleton of type "
+				+ getType().getName() + " is required to create itself.");
+	}
+}
@@ -0,0 +1,62 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl.bind;
+
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.IKey;
+import org.apache.commons.inject.api.IProvider;
+import org.apache.commons.inject.api.bind.IScope;
+import org.apache.commons.inject.impl.AbstractScopedProvider;
+
+/**
+ * Scoped provider for a custom {@link IScope scope}: The scope is given an
+ * unscoped provider, which creates instances, and returns a provider, that
+ * implements the scope.
+ */
+public class CustomScopeProvider<T> extends AbstractScopedProvider<T> {
+	private final IProvider<T> scopedProvider;
+
+	public CustomScopeProvider(IProvider<T> pBaseProvider, IKey<T> pKey, IScope pScope) {
+		super(pBaseProvider);
+		final IProvider<T> unscopedProvider = new IProvider<T>(){
+			@Override
+			public T get() {
+				return CustomScopeProvider.super.get();
+			}
+
+			@Override
+			public Class<? extends T> getType() {
+				return CustomScopeProvider.this.getType();
+			}
+
+			@Override
+			public T get(IInjector pInjector) {
+				return get();
+			}
+		};
+		scopedProvider = pScope.scope(pKey, unscopedProvider);
+		if (scopedProvider == null) {
+			throw new NullPointerException("The scope " + pScope
+					+ " returned a null provider for key " + pKey);
+		}
+	}
+
+	@Override
+	public T get() {
+		return scopedProvider.get();
+	}
+}
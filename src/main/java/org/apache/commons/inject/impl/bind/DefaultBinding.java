@@ -16,19 +16,23 @@
 */
 package org.apache.commons.inject.impl.bind;
 
+import java.util.Collection;
+
 import org.apache.commons.inject.api.IBinding;
 import org.apache.commons.inject.api.IInjector;
 import org.apache.commons.inject.api.IPoint;
 import org.apache.commons.inject.api.IProvider;
+import org.apache.commons.inject.impl.IDependencyAware;
 import org.apache.commons.inject.impl.IInjectorAware;
 
 /**
  * Default implementation of {@link IBinding}; basically a simple
  * wrapper for instances of {@link IProvider}, and {@link IPoint}.
  */
-public class DefaultBinding<T> implements IBinding<T>, IInjectorAware {
+public class DefaultBinding<T> implements IBinding<T>, IInjectorAware, IDependencyAware {
 	private final IProvider<T> provider;
 	private final IPoint<T> point;
+	private boolean initialized;
 	
 	public DefaultBinding(IProvider<T> pProvider, IPoint<T> pPoint) {
 		super();
@@ -48,6 +52,13 @@ public class DefaultBinding<T> implements IBinding<T>, IInjectorAware {
 
 	@Override
 	public void init(IInjector pInjector) {
+		// Points initialize the bindings of their dependencies, so this may be
+		// invoked multiple times, or even recursively, in case of circular
+		// dependencies.
+		if (initialized) {
+			return;
+		}
+		initialized = true;
 		if (provider instanceof IInjectorAware) {
 			((IInjectorAware) provider).init(pInjector);
 		}
@@ -56,4 +67,13 @@ public class DefaultBinding<T> implements IBinding<T>, IInjectorAware {
 		}
 	}
 
+	@Override
+	public void addDependencies(Collection<IBinding<?>> pDependencies) {
+		if (provider instanceof IDependencyAware) {
+			((IDependencyAware) provider).addDependencies(pDependencies);
+		}
+		if (point instanceof IDependencyAware) {
+			((IDependencyAware) point).addDependencies(pDependencies);
+		}
+	}
 }
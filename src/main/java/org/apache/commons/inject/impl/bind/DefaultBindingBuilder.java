@@ -29,6 +29,7 @@ import org.apache.commons.inject.api.IPoint;
 import org.apache.commons.inject.api.IProvider;
 import org.apache.commons.inject.api.Key;
 import org.apache.commons.inject.api.bind.IAnnotatedBindingBuilder;
+import org.apache.commons.inject.api.bind.IScope;
 import org.apache.commons.inject.api.bind.ILinkedBindingBuilder;
 import org.apache.commons.inject.api.bind.IScopedBindingBuilder;
 import org.apache.commons.inject.api.bind.Scopes;
@@ -36,8 +37,11 @@ import org.apache.commons.inject.api.bind.IBinder.IInjectionListener;
 import org.apache.commons.inject.api.bind.IBinder.IInjectionParticipator;
 import org.apache.commons.inject.impl.AbstractBaseProvider;
 import org.apache.commons.inject.impl.AbstractScopedProvider;
+import org.apache.commons.inject.impl.BindingMetrics;
+import org.apache.commons.inject.impl.InjectorMetrics;
 import org.apache.commons.inject.impl.Introspector;
 import org.apache.commons.inject.impl.ListPoint;
+import org.apache.commons.inject.impl.MeteredProvider;
 import org.apache.commons.inject.impl.MutableBindingSet;
 import org.apache.commons.inject.impl.AbstractBindingSet.MappedKey;
 
@@ -62,6 +66,7 @@ public class DefaultBindingBuilder<T> implements IAnnotatedBindingBuilder<T> {
 	private Provider<? extends T> targetProvider;
 	private IProvider<? extends T> targetIProvider;
 	private Scopes scope;
+	private IScope customScope;
 
 	public DefaultBindingBuilder(Class<T> pType) {
 		this(pType, Key.NO_NAME);
@@ -100,7 +105,7 @@ public class DefaultBindingBuilder<T> implements IAnnotatedBindingBuilder<T> {
 	}
 
 	private static final String SCOPE_METHOD_LIST
-		= "toInstance(Object), scope(Scopes), asEagerSingleton(), and asLazySingleton()";
+		= "toInstance(Object), scope(Scopes), scope(IScope), asEagerSingleton(), and asLazySingleton()";
 	private static final String TARGET_METHOD_LIST
 		= "toInstance(Object), to(Class), to(Constructor), to(Method),"
 		+ " to(Provider, Class), to(IProvider)";
@@ -177,13 +182,25 @@ public class DefaultBindingBuilder<T> implements IAnnotatedBindingBuilder<T> {
 		if (pScope == null) {
 			throw new NullPointerException("The target scope must not be null.");
 		}
-		if (scope != null) {
+		if (scope != null  ||  customScope != null) {
 			throw new IllegalStateException("The methods " + SCOPE_METHOD_LIST
 					+ " are mutually exclusive, and may be invoked only once.");
 		}
 		scope = pScope;
 	}
 
+	@Override
+	public void scope(IScope pScope) {
+		if (pScope == null) {
+			throw new NullPointerException("The target scope must not be null.");
+		}
+		if (scope != null  ||  customScope != null) {
+			throw new IllegalStateException("The methods " + SCOPE_METHOD_LIST
+					+ " are mutually exclusive, and may be invoked only once.");
+		}
+		customScope = pScope;
+	}
+
 	@Override
 	public void asEagerSingleton() {
 		scope(Scopes.EAGER_SINGLETON);
@@ -219,8 +236,19 @@ public class DefaultBindingBuilder<T> implements IAnnotatedBindingBuilder<T> {
 		return this;
 	}
 
+	/**
+	 * Returns the key, which is being bound.
+	 */
+	public IKey<T> getKey() {
+		return sourceKey;
+	}
+
+	/**
+	 * Creates the binding, and adds it to the given binding set.
+	 * @param pMetrics The injectors metrics, or null, if metrics are disabled.
+	 */
 	public void build(MutableBindingSet pBindings, final List<IInjectionListener> pListeners,
-			final List<IInjectionParticipator> pParticipators) {
+			final List<IInjectionParticipator> pParticipators, InjectorMetrics pMetrics) {
 		final Class<T> baseType = getBaseType();
 		ListPoint<T> point = Introspector.getInstance().getPoint(baseType, pBindings);
 		final IKey<T> key = sourceKey;
@@ -246,18 +274,25 @@ public class DefaultBindingBuilder<T> implements IAnnotatedBindingBuilder<T> {
 				}
 			});
 		}
-		final IProvider<T> baseProvider = getBaseProvider(baseType, point, pBindings);
-		final IProvider<T> scopedProvider = getScopedProvider(baseProvider);
-		final IBinding<T> binding = new DefaultBinding<T>(scopedProvider, point);
 		final Annotation[] annotations;
 		if (sourceAnnotation == null) {
 			annotations = Key.NO_ANNOTATIONS;
 		} else {
 			annotations = new Annotation[]{ sourceAnnotation };
 		}
-		final MappedKey<T> mkey = new MappedKey<T>(sourceKey.getType(), sourceKey.getName(),
+		final MappedKey<T> mkey = new MappedKey<T>(sourceKey.getType(), sourceKey.getGenericType(), sourceKey.getName(),
 				annotations, sourceAnnotationType);
-				
+		final IProvider<T> baseProvider = getBaseProvider(baseType, point, pBindings);
+		final IBinding<T> binding;
+		if (pMetrics == null) {
+			binding = new DefaultBinding<T>(getScopedProvider(baseProvider, mkey), point);
+		} else {
+			final BindingMetrics metrics = pMetrics.add(mkey);
+			final IProvider<T> meteredBaseProvider = new MeteredProvider<T>(baseProvider, metrics, true);
+			final IProvider<T> scopedProvider = new MeteredProvider<T>(getScopedProvider(meteredBaseProvider, mkey), metrics, false);
+			binding = new DefaultBinding<T>(scopedProvider, point);
+			pMetrics.add(binding, metrics);
+		}
 		pBindings.add(mkey, binding);
 	}
 
@@ -354,7 +389,16 @@ public class DefaultBindingBuilder<T> implements IAnnotatedBindingBuilder<T> {
 				+ TARGET_METHOD_LIST + " has been invoked on this binding builder.");
 	}
 
-	public AbstractScopedProvider<T> getScopedProvider(IProvider<T> pBaseProvider) {
+	/**
+	 * Returns the scoped provider.
+	 * @param pKey The bindings key, including the annotations, which
+	 *   have been specified via {@code annotatedWith()}. A custom scope
+	 *   receives this key.
+	 */
+	public AbstractScopedProvider<T> getScopedProvider(IProvider<T> pBaseProvider, MappedKey<T> pKey) {
+		if (customScope != null) {
+			return new CustomScopeProvider<T>(pBaseProvider, pKey, customScope);
+		}
 		if (scope == null) {
 			throw new IllegalStateException("Neither of the methods "
 					+ SCOPE_METHOD_LIST + " has been invoked on this binding builder.");
@@ -367,6 +411,10 @@ public class DefaultBindingBuilder<T> implements IAnnotatedBindingBuilder<T> {
 			return new EagerSingletonProvider<T>(pBaseProvider);
 		case LAZY_SINGLETON:
 			return new LazySingletonProvider<T>(pBaseProvider);
+		case THREAD:
+			return new ThreadLocalProvider<T>(pBaseProvider);
+		case REQUEST:
+			return new RequestScopeProvider<T>(pBaseProvider);
 		default:
 			throw new IllegalStateException("Invalid scope: " + scope);
 		}
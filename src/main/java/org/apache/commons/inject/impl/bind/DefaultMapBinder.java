@@ -0,0 +1,64 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl.bind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.inject.api.Key;
+import org.apache.commons.inject.api.bind.ILinkedBindingBuilder;
+import org.apache.commons.inject.api.bind.IMapBinder;
+import org.apache.commons.inject.util.Types;
+
+/**
+ * Default implementation of {@link IMapBinder}.
+ */
+public class DefaultMapBinder<K,V> extends AbstractMultibinder<V,Map<K,V>> implements IMapBinder<K,V> {
+	private final List<K> keys = new ArrayList<K>();
+
+	public DefaultMapBinder(Class<K> pKeyType, Class<V> pValueType, String pName, List<DefaultBindingBuilder<?>> pBuilders) {
+		super(new Key<Map<K,V>>(Types.newParameterizedType(Map.class, pKeyType, pValueType), pName),
+				pValueType, pBuilders);
+	}
+
+	@Override
+	public ILinkedBindingBuilder<V> addBinding(K pKey) {
+		if (pKey == null) {
+			throw new NullPointerException("The key must not be null.");
+		}
+		if (keys.contains(pKey)) {
+			throw new IllegalStateException("The key " + pKey + " has already been added to the map "
+					+ Key.toString(getKey()));
+		}
+		keys.add(pKey);
+		return newElement();
+	}
+
+	@Override
+	protected Map<K,V> newCollection(Object[] pElements) {
+		final Map<K,V> map = new LinkedHashMap<K,V>(pElements.length*4/3+1);
+		for (int i = 0;  i < pElements.length;  i++) {
+			@SuppressWarnings("unchecked")
+			final V v = (V) pElements[i];
+			map.put(keys.get(i), v);
+		}
+		return Collections.unmodifiableMap(map);
+	}
+}
@@ -0,0 +1,53 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl.bind;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.inject.api.Key;
+import org.apache.commons.inject.api.bind.ILinkedBindingBuilder;
+import org.apache.commons.inject.api.bind.ISetBinder;
+import org.apache.commons.inject.util.Types;
+
+/**
+ * Default implementation of {@link ISetBinder}.
+ */
+public class DefaultSetBinder<T> extends AbstractMultibinder<T,Set<T>> implements ISetBinder<T> {
+	public DefaultSetBinder(Class<T> pElementType, String pName, List<DefaultBindingBuilder<?>> pBuilders) {
+		super(new Key<Set<T>>(Types.newParameterizedType(Set.class, pElementType), pName),
+				pElementType, pBuilders);
+	}
+
+	@Override
+	public ILinkedBindingBuilder<T> addBinding() {
+		return newElement();
+	}
+
+	@Override
+	protected Set<T> newCollection(Object[] pElements) {
+		final Set<T> set = new LinkedHashSet<T>(pElements.length*4/3+1);
+		for (Object element : pElements) {
+			@SuppressWarnings("unchecked")
+			final T t = (T) element;
+			set.add(t);
+		}
+		return Collections.unmodifiableSet(set);
+	}
+}
@@ -16,31 +16,16 @@
 */
 package org.apache.commons.inject.impl.bind;
 
-import org.apache.commons.inject.api.IInjector;
 import org.apache.commons.inject.api.IProvider;
-import org.apache.commons.inject.impl.AbstractScopedProvider;
-
-public class EagerSingletonProvider<T> extends AbstractScopedProvider<T> {
-	private T instance;
 
+/**
+ * Scoped provider for eager singletons: The instance is created, when the
+ * injector is being built, after all bindings have been initialized. (See
+ * {@link org.apache.commons.inject.impl.EagerSingletonInitializer}.) If another
+ * binding requires the instance before that, then it is created on demand.
+ */
+public class EagerSingletonProvider<T> extends AbstractSingletonProvider<T> {
 	public EagerSingletonProvider(IProvider<T> pBaseProvider) {
 		super(pBaseProvider);
 	}
-
-	@Override
-	public void init(IInjector pInjector) {
-		super.init(pInjector);
-		instance = super.get();
-	}
-
-
-	@Override
-	public T get() {
-		return instance;
-	}
-
-	@Override
-	public T get(IInjector pInjector) {
-		return instance;
-	}
 }
@@ -0,0 +1,39 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl.bind;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Qualifier of the element bindings, which are created by a multibinder.
+ * Every element has a unique qualifier, so the elements are ordinary
+ * bindings (with scopes, metrics, and so on), which don't collide with
+ * each other, or with the applications bindings.
+ * @see AbstractMultibinder
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@interface Element {
+	/**
+	 * The key of the set, or map, to which the element belongs.
+	 */
+	String collection();
+	/**
+	 * The elements index within the set, or map.
+	 */
+	int index();
+}
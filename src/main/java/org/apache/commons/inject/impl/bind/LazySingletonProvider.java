@@ -17,20 +17,13 @@
 package org.apache.commons.inject.impl.bind;
 
 import org.apache.commons.inject.api.IProvider;
-import org.apache.commons.inject.impl.AbstractScopedProvider;
-
-public class LazySingletonProvider<T> extends AbstractScopedProvider<T> {
-	private T instance;
 
+/**
+ * Scoped provider for lazy singletons: The instance is created, when it is
+ * requested for the first time.
+ */
+public class LazySingletonProvider<T> extends AbstractSingletonProvider<T> {
 	public LazySingletonProvider(IProvider<T> pBaseProvider) {
 		super(pBaseProvider);
 	}
-
-	@Override
-	public synchronized T get() {
-		if (instance == null) {
-			instance = super.get();
-		}
-		return instance;
-	}
 }
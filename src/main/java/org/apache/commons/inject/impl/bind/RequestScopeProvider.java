@@ -0,0 +1,47 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl.bind;
+
+import org.apache.commons.inject.api.IProvider;
+import org.apache.commons.inject.api.RequestScope;
+import org.apache.commons.inject.impl.AbstractScopedProvider;
+
+/**
+ * Scoped provider for the scope {@link org.apache.commons.inject.api.bind.Scopes#REQUEST}:
+ * Creates one instance per {@link RequestScope request scope}.
+ */
+public class RequestScopeProvider<T> extends AbstractScopedProvider<T> {
+	public RequestScopeProvider(IProvider<T> pBaseProvider) {
+		super(pBaseProvider);
+	}
+
+	@Override
+	public T get() {
+		final RequestScope scope = RequestScope.getCurrent();
+		if (scope == null) {
+			throw new IllegalStateException("No request scope is active, which is required to create an instance of "
+					+ getType().getName() + ". Use RequestScope.enter().");
+		}
+		@SuppressWarnings("unchecked")
+		T t = (T) scope.getInstance(this);
+		if (t == null) {
+			t = super.get();
+			scope.putInstance(this, t);
+		}
+		return t;
+	}
+}
@@ -0,0 +1,44 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl.bind;
+
+import org.apache.commons.inject.api.IProvider;
+import org.apache.commons.inject.impl.AbstractScopedProvider;
+
+/**
+ * Scoped provider for the scope {@link org.apache.commons.inject.api.bind.Scopes#THREAD}:
+ * Creates one instance per thread, which is reused by subsequent calls in
+ * the same thread. The instances are never removed: A thread keeps its
+ * instance until it terminates.
+ */
+public class ThreadLocalProvider<T> extends AbstractScopedProvider<T> {
+	private final ThreadLocal<T> instances = new ThreadLocal<T>(){
+		@Override
+		protected T initialValue() {
+			return ThreadLocalProvider.super.get();
+		}
+	};
+
+	public ThreadLocalProvider(IProvider<T> pBaseProvider) {
+		super(pBaseProvider);
+	}
+
+	@Override
+	public T get() {
+		return instances.get();
+	}
+}
@@ -0,0 +1,112 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.util;
+
+import java.lang.annotation.Annotation;
+
+import org.apache.commons.inject.api.Key;
+
+/**
+ * An immutable set of annotations, with precomputed hash codes. Two
+ * instances are equal, if every annotation of either set is equal to
+ * an annotation of the other set. This is the same condition, which is
+ * checked by the binding sets, when looking up a key. Instances are
+ * obtained by {@link #valueOf(Annotation[])}, or, cached, by
+ * {@link Key#getAnnotationSet()}.
+ */
+public class AnnotationSet {
+	public static final AnnotationSet EMPTY = new AnnotationSet(Key.NO_ANNOTATIONS, new int[0], 0);
+	private final Annotation[] annotations;
+	private final int[] hashCodes;
+	private final int hashCode;
+
+	private AnnotationSet(Annotation[] pAnnotations, int[] pHashCodes, int pHashCode) {
+		annotations = pAnnotations;
+		hashCodes = pHashCodes;
+		hashCode = pHashCode;
+	}
+
+	/**
+	 * Creates a set with the given annotations. Returns null, if the
+	 * array contains null values.
+	 */
+	public static AnnotationSet valueOf(Annotation[] pAnnotations) {
+		if (pAnnotations.length == 0) {
+			return EMPTY;
+		}
+		final Annotation[] annotations = new Annotation[pAnnotations.length];
+		final int[] hashCodes = new int[pAnnotations.length];
+		int num = 0;
+		int hashCode = 0;
+		for (Annotation annotation : pAnnotations) {
+			if (annotation == null) {
+				return null;
+			}
+			final int hc = annotation.hashCode();
+			if (indexOf(annotations, hashCodes, num, annotation, hc) == -1) {
+				annotations[num] = annotation;
+				hashCodes[num] = hc;
+				hashCode += hc;
+				num++;
+			}
+		}
+		if (num == annotations.length) {
+			return new AnnotationSet(annotations, hashCodes, hashCode);
+		}
+		final Annotation[] anns = new Annotation[num];
+		final int[] hcs = new int[num];
+		System.arraycopy(annotations, 0, anns, 0, num);
+		System.arraycopy(hashCodes, 0, hcs, 0, num);
+		return new AnnotationSet(anns, hcs, hashCode);
+	}
+
+	private static int indexOf(Annotation[] pAnnotations, int[] pHashCodes, int pNum,
+			                   Annotation pAnnotation, int pHashCode) {
+		for (int i = 0;  i < pNum;  i++) {
+			if (pHashCodes[i] == pHashCode  &&  pAnnotations[i].equals(pAnnotation)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(Object pOther) {
+		if (this == pOther) {
+			return true;
+		}
+		if (pOther == null  ||  getClass() != pOther.getClass()) {
+			return false;
+		}
+		final AnnotationSet other = (AnnotationSet) pOther;
+		if (hashCode != other.hashCode  ||  annotations.length != other.annotations.length) {
+			return false;
+		}
+		for (int i = 0;  i < annotations.length;  i++) {
+			if (indexOf(other.annotations, other.hashCodes, other.annotations.length,
+					    annotations[i], hashCodes[i]) == -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
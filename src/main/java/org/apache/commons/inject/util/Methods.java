@@ -0,0 +1,94 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.util;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+
+/**
+ * A utility class for dealing with methods.
+ */
+public class Methods {
+	/**
+	 * Returns, whether the given method of a superclass is overridden by
+	 * one of the given methods, which are declared by a subclass. A bridge
+	 * method counts as an override, if it bridges to a method, which has
+	 * been declared in the subclass (as in {@code Sub extends Base<String>}).
+	 * A visibility bridge, which the compiler generates for a public method
+	 * of a non-public superclass, doesn't.
+	 */
+	public static boolean isOverridden(Method pSuperMethod, Method[] pDeclaredMethods) {
+		final int modifiers = pSuperMethod.getModifiers();
+		if (Modifier.isPrivate(modifiers)) {
+			return false;
+		}
+		final boolean packagePrivate = !Modifier.isPublic(modifiers)  &&  !Modifier.isProtected(modifiers);
+		for (Method m : pDeclaredMethods) {
+			if (Modifier.isStatic(m.getModifiers())  ||  Modifier.isPrivate(m.getModifiers())
+					||  !m.getName().equals(pSuperMethod.getName())
+					||  !Arrays.equals(m.getParameterTypes(), pSuperMethod.getParameterTypes())) {
+				continue;
+			}
+			if (packagePrivate  &&  !isSamePackage(m.getDeclaringClass(), pSuperMethod.getDeclaringClass())) {
+				continue;
+			}
+			if (m.isBridge()  &&  !isBridging(m, pDeclaredMethods)) {
+				continue;
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private static boolean isBridging(Method pBridge, Method[] pDeclaredMethods) {
+		final Class<?>[] bridgeTypes = pBridge.getParameterTypes();
+		for (Method m : pDeclaredMethods) {
+			if (m.isBridge()  ||  !m.getName().equals(pBridge.getName())) {
+				continue;
+			}
+			final Class<?>[] types = m.getParameterTypes();
+			if (types.length != bridgeTypes.length) {
+				continue;
+			}
+			boolean assignable = true;
+			for (int i = 0;  i < types.length  &&  assignable;  i++) {
+				assignable = bridgeTypes[i].isAssignableFrom(types[i]);
+			}
+			if (assignable) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns, whether the given classes are in the same runtime package,
+	 * that is, whether they have the same package name, and class loader.
+	 */
+	public static boolean isSamePackage(Class<?> pType1, Class<?> pType2) {
+		return pType1.getClassLoader() == pType2.getClassLoader()
+				&&  getPackageName(pType1).equals(getPackageName(pType2));
+	}
+
+	private static String getPackageName(Class<?> pType) {
+		final String name = pType.getName();
+		final int offset = name.lastIndexOf('.');
+		return offset == -1 ? "" : name.substring(0, offset);
+	}
+}
@@ -0,0 +1,302 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.util;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+
+
+/**
+ * A utility class for dealing with generic types. The methods
+ * {@link #canonicalize(Type)}, and {@link #newParameterizedType(Class, Type...)}
+ * return immutable instances with a precomputed hash code, so that they
+ * can be used efficiently as part of a map key. These instances are equal
+ * to, and have the same hash code as the corresponding instances, which
+ * are returned by the reflection API.
+ */
+public class Types {
+	private static final Type[] NO_TYPES = new Type[0];
+
+	// Private constructor, to avoid accidental instantiation.
+	private Types() {
+	}
+
+	/**
+	 * Returns a canonical representation of the given type: Classes are
+	 * returned unmodified. Generic array types with a non-generic component
+	 * type are converted into array classes. Parameterized types, generic
+	 * array types, and wildcard types are converted into immutable instances
+	 * with a precomputed hash code.
+	 */
+	public static Type canonicalize(Type pType) {
+		if (pType == null) {
+			throw new NullPointerException("The type must not be null.");
+		}
+		if (pType instanceof Class<?>
+			||  pType instanceof ParameterizedTypeImpl
+			||  pType instanceof GenericArrayTypeImpl
+			||  pType instanceof WildcardTypeImpl) {
+			return pType;
+		}
+		if (pType instanceof ParameterizedType) {
+			final ParameterizedType ptype = (ParameterizedType) pType;
+			final Type ownerType = ptype.getOwnerType();
+			return new ParameterizedTypeImpl(ownerType == null ? null : canonicalize(ownerType),
+					(Class<?>) ptype.getRawType(), canonicalize(ptype.getActualTypeArguments()));
+		}
+		if (pType instanceof GenericArrayType) {
+			final Type componentType = canonicalize(((GenericArrayType) pType).getGenericComponentType());
+			if (componentType instanceof Class<?>) {
+				return Array.newInstance((Class<?>) componentType, 0).getClass();
+			}
+			return new GenericArrayTypeImpl(componentType);
+		}
+		if (pType instanceof WildcardType) {
+			final WildcardType wtype = (WildcardType) pType;
+			return new WildcardTypeImpl(canonicalize(wtype.getUpperBounds()), canonicalize(wtype.getLowerBounds()));
+		}
+		// A type variable, which can't be canonicalized.
+		return pType;
+	}
+
+	private static Type[] canonicalize(Type[] pTypes) {
+		if (pTypes.length == 0) {
+			return NO_TYPES;
+		}
+		final Type[] types = new Type[pTypes.length];
+		for (int i = 0;  i < types.length;  i++) {
+			types[i] = canonicalize(pTypes[i]);
+		}
+		return types;
+	}
+
+	/**
+	 * Creates a parameterized type, like {@code List<String>}, which is
+	 * created by {@code newParameterizedType(List.class, String.class)}.
+	 */
+	public static ParameterizedType newParameterizedType(Class<?> pRawType, Type... pTypeArguments) {
+		if (pRawType == null) {
+			throw new NullPointerException("The raw type must not be null.");
+		}
+		if (pRawType.getTypeParameters().length != pTypeArguments.length) {
+			throw new IllegalArgumentException("Expected " + pRawType.getTypeParameters().length
+					+ " type arguments for " + pRawType.getName() + ", got " + pTypeArguments.length);
+		}
+		return new ParameterizedTypeImpl(pRawType.getDeclaringClass(), pRawType, canonicalize(pTypeArguments));
+	}
+
+	/**
+	 * Returns the raw class of the given type, for example {@code List.class},
+	 * if the type is {@code List<String>}. For type variables, and wildcard
+	 * types, the raw class of the first upper bound is returned.
+	 */
+	public static Class<?> getRawType(Type pType) {
+		if (pType instanceof Class<?>) {
+			return (Class<?>) pType;
+		}
+		if (pType instanceof ParameterizedType) {
+			return (Class<?>) ((ParameterizedType) pType).getRawType();
+		}
+		if (pType instanceof GenericArrayType) {
+			final Class<?> componentType = getRawType(((GenericArrayType) pType).getGenericComponentType());
+			return Array.newInstance(componentType, 0).getClass();
+		}
+		if (pType instanceof TypeVariable<?>) {
+			return getRawType(((TypeVariable<?>) pType).getBounds()[0]);
+		}
+		if (pType instanceof WildcardType) {
+			return getRawType(((WildcardType) pType).getUpperBounds()[0]);
+		}
+		if (pType == null) {
+			throw new NullPointerException("The type must not be null.");
+		}
+		throw new IllegalArgumentException("Unsupported type: " + pType.getClass().getName());
+	}
+
+	/**
+	 * Returns a string representation of the given type. For classes, this
+	 * is the class name.
+	 */
+	public static String toString(Type pType) {
+		if (pType instanceof Class<?>) {
+			return ((Class<?>) pType).getName();
+		}
+		return pType.toString();
+	}
+
+	private static String toString(String pPrefix, Type[] pTypes, String pSeparator) {
+		final StringBuilder sb = new StringBuilder(pPrefix);
+		for (int i = 0;  i < pTypes.length;  i++) {
+			if (i > 0) {
+				sb.append(pSeparator);
+			}
+			sb.append(pTypes[i].getTypeName());
+		}
+		return sb.toString();
+	}
+
+	private static boolean equals(Object pObject1, Object pObject2) {
+		return pObject1 == null ? pObject2 == null : pObject1.equals(pObject2);
+	}
+
+	private static int hashCode(Object pObject) {
+		return pObject == null ? 0 : pObject.hashCode();
+	}
+
+	private static class ParameterizedTypeImpl implements ParameterizedType {
+		private final Type ownerType;
+		private final Class<?> rawType;
+		private final Type[] typeArguments;
+		private final int hashCode;
+
+		ParameterizedTypeImpl(Type pOwnerType, Class<?> pRawType, Type[] pTypeArguments) {
+			ownerType = pOwnerType;
+			rawType = pRawType;
+			typeArguments = pTypeArguments;
+			// Same as in the JDK's implementation.
+			hashCode = Arrays.hashCode(typeArguments) ^ Types.hashCode(ownerType) ^ rawType.hashCode();
+		}
+
+		@Override
+		public Type[] getActualTypeArguments() {
+			return typeArguments.clone();
+		}
+
+		@Override
+		public Type getRawType() {
+			return rawType;
+		}
+
+		@Override
+		public Type getOwnerType() {
+			return ownerType;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object pOther) {
+			if (this == pOther) {
+				return true;
+			}
+			if (pOther instanceof ParameterizedTypeImpl) {
+				final ParameterizedTypeImpl other = (ParameterizedTypeImpl) pOther;
+				return hashCode == other.hashCode  &&  rawType == other.rawType
+						&&  Types.equals(ownerType, other.ownerType)
+						&&  Arrays.equals(typeArguments, other.typeArguments);
+			}
+			if (pOther instanceof ParameterizedType) {
+				final ParameterizedType other = (ParameterizedType) pOther;
+				return rawType == other.getRawType()
+						&&  Types.equals(ownerType, other.getOwnerType())
+						&&  Arrays.equals(typeArguments, other.getActualTypeArguments());
+			}
+			return false;
+		}
+
+		@Override
+		public String toString() {
+			return Types.toString(rawType.getName() + "<", typeArguments, ", ") + ">";
+		}
+	}
+
+	private static class GenericArrayTypeImpl implements GenericArrayType {
+		private final Type componentType;
+
+		GenericArrayTypeImpl(Type pComponentType) {
+			componentType = pComponentType;
+		}
+
+		@Override
+		public Type getGenericComponentType() {
+			return componentType;
+		}
+
+		@Override
+		public int hashCode() {
+			return componentType.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object pOther) {
+			return pOther instanceof GenericArrayType
+					&&  componentType.equals(((GenericArrayType) pOther).getGenericComponentType());
+		}
+
+		@Override
+		public String toString() {
+			return componentType.getTypeName() + "[]";
+		}
+	}
+
+	private static class WildcardTypeImpl implements WildcardType {
+		private final Type[] upperBounds;
+		private final Type[] lowerBounds;
+		private final int hashCode;
+
+		WildcardTypeImpl(Type[] pUpperBounds, Type[] pLowerBounds) {
+			upperBounds = pUpperBounds;
+			lowerBounds = pLowerBounds;
+			// Same as in the JDK's implementation.
+			hashCode = Arrays.hashCode(lowerBounds) ^ Arrays.hashCode(upperBounds);
+		}
+
+		@Override
+		public Type[] getUpperBounds() {
+			return upperBounds.clone();
+		}
+
+		@Override
+		public Type[] getLowerBounds() {
+			return lowerBounds.clone();
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object pOther) {
+			if (pOther instanceof WildcardType) {
+				final WildcardType other = (WildcardType) pOther;
+				return Arrays.equals(upperBounds, other.getUpperBounds())
+						&&  Arrays.equals(lowerBounds, other.getLowerBounds());
+			}
+			return false;
+		}
+
+		@Override
+		public String toString() {
+			if (lowerBounds.length > 0) {
+				return Types.toString("? super ", lowerBounds, " & ");
+			}
+			if (upperBounds.length == 0  ||  upperBounds[0] == Object.class) {
+				return "?";
+			}
+			return Types.toString("? extends ", upperBounds, " & ");
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import org.apache.commons.inject.api.IBuildProfiler;
+
+/**
+ * A {@link IBuildProfiler build profiler}, which emits JDK Flight Recorder
+ * events, so that the build of an injector can be analyzed together with
+ * other JFR data. The events are named
+ * {@code org.apache.commons.inject.BuildPhase}, and
+ * {@code org.apache.commons.inject.BuildItem}. This class is compiled
+ * separately for Java 11, because the library targets Java 8. Don't use
+ * it directly: Use {@link org.apache.commons.inject.api.CommonsInject#newJfrBuildProfiler()},
+ * which loads it, if JFR is available.
+ */
+public class JfrBuildProfiler implements IBuildProfiler {
+	@Name("org.apache.commons.inject.BuildPhase")
+	@Label("Injector Build Phase")
+	@Description("A completed phase of building an injector")
+	@Category("Commons Inject")
+	static class BuildPhaseEvent extends Event {
+		@Label("Phase")
+		String phase;
+
+		@Label("Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long time;
+
+		@Label("Allocated")
+		@DataAmount(DataAmount.BYTES)
+		long allocated;
+	}
+
+	@Name("org.apache.commons.inject.BuildItem")
+	@Label("Injector Build Item")
+	@Description("A module, or binding, which has been processed while building an injector")
+	@Category("Commons Inject")
+	static class BuildItemEvent extends Event {
+		@Label("Phase")
+		String phase;
+
+		@Label("Item")
+		String item;
+
+		@Label("Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long time;
+
+		@Label("Allocated")
+		@DataAmount(DataAmount.BYTES)
+		long allocated;
+	}
+
+	@Override
+	public void phaseCompleted(Phase pPhase, long pNanos, long pAllocatedBytes) {
+		final BuildPhaseEvent event = new BuildPhaseEvent();
+		if (event.isEnabled()) {
+			event.phase = pPhase.name();
+			event.time = pNanos;
+			event.allocated = pAllocatedBytes;
+			event.commit();
+		}
+	}
+
+	@Override
+	public void itemCompleted(Phase pPhase, String pItem, long pNanos, long pAllocatedBytes) {
+		final BuildItemEvent event = new BuildItemEvent();
+		if (event.isEnabled()) {
+			event.phase = pPhase.name();
+			event.item = pItem;
+			event.time = pNanos;
+			event.allocated = pAllocatedBytes;
+			event.commit();
+		}
+	}
+}
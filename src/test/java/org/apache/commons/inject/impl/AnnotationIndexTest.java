@@ -0,0 +1,96 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import javax.inject.Named;
+import javax.inject.Qualifier;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.Key;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.util.AnnotationSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AnnotationIndexTest {
+	@Qualifier @Retention(RetentionPolicy.RUNTIME)
+	public @interface Blue {
+	}
+
+	@SuppressWarnings("unused")
+	private static class Annotated {
+		@Named("a") Object a;
+		@Named("b") Object b;
+		@Named("c") Object c;
+		@Named("z") Object z;
+		@Blue Object blue;
+	}
+
+	private static Annotation annotation(String pField) throws Exception {
+		return Annotated.class.getDeclaredField(pField).getAnnotations()[0];
+	}
+
+	private static Key<String> key(Annotation... pAnnotations) {
+		return new Key<String>(String.class, Key.NO_NAME, pAnnotations);
+	}
+
+	@Test
+	public void testAnnotationSet() throws Exception {
+		final Annotation test = AnnotationIndexTest.class.getMethod("testAnnotationSet").getAnnotation(Test.class);
+		final Key<String> key = new Key<String>(String.class, Key.NO_NAME, new Annotation[]{test, test});
+		final AnnotationSet set = key.getAnnotationSet();
+		Assert.assertSame(set, key.getAnnotationSet());
+		Assert.assertEquals(AnnotationSet.valueOf(new Annotation[]{test}), set);
+		Assert.assertSame(AnnotationSet.EMPTY, new Key<String>(String.class).getAnnotationSet());
+		Assert.assertNull(new Key<String>(String.class, Key.NO_NAME, new Annotation[]{null}).getAnnotationSet());
+	}
+
+	/**
+	 * A bucket with bindings, which require an annotation type, is indexed,
+	 * too, and the first matching binding in the order of registration wins.
+	 */
+	@Test
+	public void testAnnotationTypeIndex() throws Exception {
+		final Annotation a = annotation("a");
+		final Annotation b = annotation("b");
+		final Annotation c = annotation("c");
+		final IInjector injector = CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(String.class).annotatedWith(a).toInstance("a");
+				pBinder.bind(String.class).annotatedWith(Named.class).toInstance("named");
+				pBinder.bind(String.class).annotatedWith(b).toInstance("b");
+				pBinder.bind(String.class).annotatedWith(c).toInstance("c");
+				pBinder.bind(String.class).annotatedWith(Blue.class).toInstance("blue");
+			}
+		});
+		Assert.assertEquals("a", injector.requireInstance(key(a)));
+		// The binding for any @Named annotation has been registered before "b", and "c".
+		Assert.assertEquals("named", injector.requireInstance(key(b)));
+		Assert.assertEquals("named", injector.requireInstance(key(c)));
+		Assert.assertEquals("named", injector.requireInstance(key(annotation("z"))));
+		Assert.assertEquals("blue", injector.requireInstance(key(annotation("blue"))));
+		Assert.assertNull(injector.getInstance(key(annotation("blue"), a)));
+		Assert.assertNull(injector.getInstance(key()));
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IBuildProfiler;
+import org.apache.commons.inject.api.IBuildProfiler.Phase;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.SimpleBuildProfiler;
+import org.apache.commons.inject.api.SimpleBuildProfiler.Measurement;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.api.bind.Scopes;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BuildProfilerTest {
+	@Test
+	public void testSimpleBuildProfiler() throws Exception {
+		final IModule module = new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(List.class).to(ArrayList.class).scope(Scopes.PER_CALL);
+				pBinder.bind(TimeRecordingObject.class).asEagerSingleton();
+			}
+		};
+		final SimpleBuildProfiler profiler = new SimpleBuildProfiler();
+		final IInjector injector = CommonsInject.newBuilder().modules(module).profiler(profiler).build();
+		Assert.assertNotNull(injector.requireInstance(TimeRecordingObject.class));
+		final List<Measurement> phases = profiler.getPhases();
+		Assert.assertEquals(Phase.values().length, phases.size());
+		for (int i = 0;  i < phases.size();  i++) {
+			Assert.assertSame(Phase.values()[i], phases.get(i).getPhase());
+			Assert.assertNull(phases.get(i).getItem());
+			Assert.assertTrue(phases.get(i).getNanos() >= 0);
+		}
+		final List<Measurement> items = profiler.getItems();
+		boolean foundModule = false, foundSingleton = false;
+		for (int i = 0;  i < items.size();  i++) {
+			final Measurement m = items.get(i);
+			if (i > 0) {
+				Assert.assertTrue(items.get(i-1).getNanos() >= m.getNanos());
+			}
+			if (m.getPhase() == Phase.CONFIGURE) {
+				Assert.assertEquals(module.getClass().getName(), m.getItem());
+				foundModule = true;
+			} else if (m.getPhase() == Phase.CREATE_EAGER_SINGLETONS) {
+				Assert.assertTrue(m.getItem(), m.getItem().contains(TimeRecordingObject.class.getName()));
+				foundSingleton = true;
+			}
+		}
+		Assert.assertTrue(foundModule);
+		Assert.assertTrue(foundSingleton);
+		final String report = profiler.getReport(10);
+		Assert.assertTrue(report, report.contains(Phase.CREATE_EAGER_SINGLETONS.name()));
+	}
+
+	@Test
+	public void testJfrBuildProfiler() throws Exception {
+		final IBuildProfiler profiler = CommonsInject.newJfrBuildProfiler();
+		if (profiler == null) {
+			// JFR isn't available, or the profiler hasn't been compiled.
+			return;
+		}
+		final IModule module = new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(TimeRecordingObject.class).asEagerSingleton();
+			}
+		};
+		final IInjector injector = CommonsInject.newBuilder().modules(module).profiler(profiler).build();
+		Assert.assertNotNull(injector.requireInstance(TimeRecordingObject.class));
+	}
+}
@@ -0,0 +1,125 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.api.bind.Scopes;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChildInjectorTest {
+	public static class Connection {
+	}
+
+	public static class Service {
+		@Inject Connection connection;
+		@Inject @Named("tenant") String tenant;
+	}
+
+	private IInjector newParent() {
+		return CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(Connection.class).asEagerSingleton();
+				pBinder.bind(String.class, "tenant").toInstance("parent");
+				pBinder.bind(Service.class, "parent").scope(Scopes.PER_CALL);
+			}
+		});
+	}
+
+	private IInjector newChild(IInjector pParent, final String pTenant) {
+		return CommonsInject.newBuilder().parent(pParent).modules(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(String.class, "tenant").toInstance(pTenant);
+				pBinder.bind(Service.class, "child").scope(Scopes.PER_CALL);
+			}
+		}).build();
+	}
+
+	@Test
+	public void testChildInjector() {
+		final IInjector parent = newParent();
+		final IInjector child1 = newChild(parent, "tenant1");
+		final IInjector child2 = newChild(parent, "tenant2");
+		final Connection connection = parent.requireInstance(Connection.class);
+		// The parents singletons are shared.
+		Assert.assertSame(connection, child1.requireInstance(Connection.class));
+		Assert.assertSame(connection, child2.requireInstance(Connection.class));
+		// Overridden bindings affect the child only.
+		Assert.assertEquals("parent", parent.requireInstance(String.class, "tenant"));
+		Assert.assertEquals("tenant1", child1.requireInstance(String.class, "tenant"));
+		Assert.assertEquals("tenant2", child2.requireInstance(String.class, "tenant"));
+		final Service service1 = child1.requireInstance(Service.class, "child");
+		Assert.assertSame(connection, service1.connection);
+		Assert.assertEquals("tenant1", service1.tenant);
+		Assert.assertEquals("tenant2", child2.requireInstance(Service.class, "child").tenant);
+		// The parents bindings use the parents dependencies.
+		Assert.assertEquals("parent", child1.requireInstance(Service.class, "parent").tenant);
+		// The childs bindings aren't visible in the parent.
+		Assert.assertNull(parent.getInstance(Service.class, "child"));
+		// Each child has its own injector binding.
+		Assert.assertSame(child1, child1.requireInstance(IInjector.class));
+		Assert.assertSame(parent, parent.requireInstance(IInjector.class));
+	}
+
+	@Test
+	public void testJitBinding() {
+		final IInjector parent = newParent();
+		final IInjector child = newChild(parent, "tenant1");
+		final Service service1 = new Service();
+		child.injectMembers(service1);
+		Assert.assertEquals("tenant1", service1.tenant);
+		Assert.assertSame(parent.requireInstance(Connection.class), service1.connection);
+		final Service service2 = new Service();
+		parent.injectMembers(service2);
+		Assert.assertEquals("parent", service2.tenant);
+	}
+
+	@Test
+	public void testParentJitBinding() {
+		final IInjector parent = newParent();
+		final IInjector child = newChild(parent, "tenant1");
+		Assert.assertNull(child.getInstance(Service.class));
+		// Creates a just-in-time binding in the parent, which must be
+		// visible in the child, although the child has been asked before.
+		parent.injectMembers(new Service());
+		Assert.assertNotNull(child.getInstance(Service.class));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testInvalidParent() {
+		final IInjector injector = (IInjector) Proxy.newProxyInstance(IInjector.class.getClassLoader(),
+				new Class<?>[]{ IInjector.class }, new InvocationHandler() {
+					@Override
+					public Object invoke(Object pProxy, Method pMethod, Object[] pArgs) {
+						return null;
+					}
+				});
+		CommonsInject.newBuilder().parent(injector);
+	}
+}
@@ -0,0 +1,216 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.IStaticInjector.Dependency;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.api.bind.Scopes;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ClassMetadataTest {
+	public static class Injectable {
+		private final String name;
+		@Inject private Provider<Integer> number;
+		private Object ignored;
+		private String value;
+
+		@Inject
+		public Injectable(@Named("name") String pName) {
+			name = pName;
+		}
+
+		@Inject
+		public void setValue(@Named("value") String pValue) {
+			value = pValue;
+		}
+
+		public void setIgnored(Object pIgnored) {
+			ignored = pIgnored;
+		}
+	}
+
+	public static class Base {
+		final List<String> calls = new ArrayList<String>();
+		@Inject String baseField;
+
+		@Inject
+		public void overridden() {
+			calls.add("Base.overridden");
+		}
+
+		@Inject
+		public void overriddenWithoutInject() {
+			calls.add("Base.overriddenWithoutInject");
+		}
+
+		@Inject
+		private void privateMethod() {
+			calls.add("Base.privateMethod " + baseField);
+		}
+	}
+
+	public static class Middle extends Base {
+		@Inject
+		public void middle() {
+			calls.add("Middle.middle");
+		}
+	}
+
+	public static class Sub extends Middle {
+		@Inject String subField;
+
+		@Override
+		@Inject
+		public void overridden() {
+			calls.add("Sub.overridden " + subField);
+		}
+
+		@Override
+		public void overriddenWithoutInject() {
+			calls.add("Sub.overriddenWithoutInject");
+		}
+
+		@Inject
+		private void privateMethod() {
+			calls.add("Sub.privateMethod");
+		}
+	}
+
+	public static class GenericBase<T> {
+		final List<Object> values = new ArrayList<Object>();
+
+		@Inject
+		public void setValue(T pValue) {
+			values.add(pValue);
+		}
+	}
+
+	public static class GenericSub extends GenericBase<String> {
+		@Override
+		@Inject
+		public void setValue(String pValue) {
+			values.add("GenericSub " + pValue);
+		}
+	}
+
+	static class PackagePrivateBase {
+		final List<String> calls = new ArrayList<String>();
+
+		@Inject
+		public void init() {
+			calls.add("PackagePrivateBase.init");
+		}
+	}
+
+	public static class PublicSub extends PackagePrivateBase {
+	}
+
+	@Test
+	public void testBridgeMethods() throws Exception {
+		Assert.assertTrue(GenericSub.class.getDeclaredMethod("setValue", Object.class).isBridge());
+		final IInjector injector = CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(String.class).toInstance("value");
+				pBinder.bind(GenericSub.class).scope(Scopes.PER_CALL);
+				pBinder.bind(PublicSub.class).scope(Scopes.PER_CALL);
+			}
+		});
+		// The bridge method is ignored, and the overridden method is injected once.
+		final GenericSub sub = injector.requireInstance(GenericSub.class);
+		Assert.assertEquals(Arrays.asList("GenericSub value"), sub.values);
+		Assert.assertEquals(1, ClassMetadata.forClass(GenericSub.class).getMethods().size());
+		// A visibility bridge doesn't override the bridged method.
+		final PublicSub publicSub = injector.requireInstance(PublicSub.class);
+		Assert.assertEquals(Arrays.asList("PackagePrivateBase.init"), publicSub.calls);
+	}
+
+	@Test
+	public void testHierarchy() {
+		final IInjector injector = CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(String.class).toInstance("value");
+				pBinder.bind(Sub.class).scope(Scopes.PER_CALL);
+			}
+		});
+		final Sub sub = injector.requireInstance(Sub.class);
+		Assert.assertEquals("value", sub.baseField);
+		Assert.assertEquals("value", sub.subField);
+		final List<String> calls = sub.calls;
+		Assert.assertEquals(4, calls.size());
+		// Supertypes first, overridden methods are injected once, or not at all.
+		Assert.assertEquals("Base.privateMethod value", calls.get(0));
+		Assert.assertEquals("Middle.middle", calls.get(1));
+		Assert.assertTrue(calls.subList(2, 4).containsAll(Arrays.asList("Sub.overridden value", "Sub.privateMethod")));
+		final List<ClassMetadata.Level> levels = ClassMetadata.forClass(Sub.class).getLevels();
+		Assert.assertEquals(3, levels.size());
+		Assert.assertSame(Base.class, levels.get(0).getType());
+		Assert.assertSame(Middle.class, levels.get(1).getType());
+		Assert.assertSame(ClassMetadata.forClass(Middle.class).getLevels().get(1), levels.get(1));
+	}
+
+	@Test
+	public void testMetadata() throws Exception {
+		final ClassMetadata metadata = ClassMetadata.forClass(Injectable.class);
+		Assert.assertSame(metadata, ClassMetadata.forClass(Injectable.class));
+		Assert.assertEquals(Injectable.class.getConstructor(String.class), metadata.getConstructor().getMember());
+		final Dependency[] constructorDependencies = metadata.getConstructor().getDependencies();
+		Assert.assertEquals(1, constructorDependencies.length);
+		Assert.assertSame(String.class, constructorDependencies[0].getType());
+		Assert.assertEquals("name", constructorDependencies[0].getName());
+		Assert.assertEquals(1, metadata.getFields().length);
+		final Dependency fieldDependency = metadata.getFields()[0].getDependency();
+		Assert.assertSame(Integer.class, fieldDependency.getType());
+		Assert.assertTrue(fieldDependency.isProvider());
+		Assert.assertEquals(1, metadata.getMethods().size());
+		Assert.assertEquals("setValue", metadata.getMethods().get(0).getMember().getName());
+	}
+
+	@Test
+	public void testSharedMetadata() {
+		for (int i = 0;  i < 2;  i++) {
+			final int number = i;
+			final IInjector injector = CommonsInject.build(new IModule(){
+				@Override
+				public void configure(IBinder pBinder) {
+					pBinder.bind(String.class, "name").toInstance("name" + number);
+					pBinder.bind(String.class, "value").toInstance("value" + number);
+					pBinder.bind(Integer.class).toInstance(Integer.valueOf(number));
+					pBinder.bind(Injectable.class).scope(Scopes.PER_CALL);
+				}
+			});
+			final Injectable injectable = injector.requireInstance(Injectable.class);
+			Assert.assertEquals("name" + number, injectable.name);
+			Assert.assertEquals("value" + number, injectable.value);
+			Assert.assertEquals(Integer.valueOf(number), injectable.number.get());
+			Assert.assertNull(injectable.ignored);
+		}
+	}
+}
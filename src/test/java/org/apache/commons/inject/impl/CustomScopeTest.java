@@ -0,0 +1,176 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.inject.Named;
+import javax.inject.Qualifier;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.IKey;
+import org.apache.commons.inject.api.IProvider;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.api.bind.IScope;
+import org.apache.commons.inject.api.bind.PooledScope;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CustomScopeTest {
+	@Test
+	public void testCustomScope() throws Exception {
+		final List<IKey<?>> scopedKeys = new ArrayList<IKey<?>>();
+		final IScope scope = new IScope(){
+			@Override
+			public <T> IProvider<T> scope(IKey<T> pKey, final IProvider<T> pUnscoped) {
+				scopedKeys.add(pKey);
+				// Creates a new instance on every second call.
+				return new IProvider<T>(){
+					private T instance;
+					private int calls;
+
+					@Override
+					public synchronized T get() {
+						if (calls++ % 2 == 0) {
+							instance = pUnscoped.get();
+						}
+						return instance;
+					}
+
+					@Override
+					public Class<? extends T> getType() {
+						return pUnscoped.getType();
+					}
+
+					@Override
+					public T get(IInjector pInjector) {
+						return get();
+					}
+				};
+			}
+		};
+		final IInjector injector = CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(TimeRecordingObject.class).scope(scope);
+			}
+		});
+		Assert.assertEquals(1, scopedKeys.size());
+		Assert.assertSame(TimeRecordingObject.class, scopedKeys.get(0).getType());
+		final TimeRecordingObject tro1 = injector.requireInstance(TimeRecordingObject.class);
+		final TimeRecordingObject tro2 = injector.requireInstance(TimeRecordingObject.class);
+		final TimeRecordingObject tro3 = injector.requireInstance(TimeRecordingObject.class);
+		Assert.assertSame(tro1, tro2);
+		Assert.assertNotSame(tro1, tro3);
+	}
+
+	@Test
+	public void testPooledScope() throws Exception {
+		final PooledScope pool = new PooledScope(2);
+		final IInjector injector = CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(List.class).to(ArrayList.class).scope(pool);
+			}
+		});
+		final List<?> list1 = injector.requireInstance(List.class);
+		final List<?> list2 = injector.requireInstance(List.class);
+		final List<?> list3 = injector.requireInstance(List.class);
+		Assert.assertNotSame(list1, list2);
+		Assert.assertEquals(0, pool.getPoolSize());
+		Assert.assertTrue(pool.release(list1));
+		Assert.assertTrue(pool.release(list2));
+		Assert.assertFalse(pool.release(list3));
+		Assert.assertEquals(2, pool.getPoolSize());
+		final List<?> list4 = injector.requireInstance(List.class);
+		final List<?> list5 = injector.requireInstance(List.class);
+		Assert.assertTrue((list4 == list1  &&  list5 == list2)  ||  (list4 == list2  &&  list5 == list1));
+		Assert.assertEquals(0, pool.getPoolSize());
+		Assert.assertNotSame(list3, injector.requireInstance(List.class));
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void testPooledScopeUsedTwice() throws Exception {
+		final PooledScope pool = new PooledScope(2);
+		CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(List.class).to(ArrayList.class).scope(pool);
+				pBinder.bind(List.class, "foo").to(ArrayList.class).scope(pool);
+			}
+		});
+	}
+
+	@Qualifier @Retention(RetentionPolicy.RUNTIME)
+	public @interface Blue {
+	}
+	@Qualifier @Retention(RetentionPolicy.RUNTIME)
+	public @interface Red {
+	}
+	@SuppressWarnings("unused")
+	private static class Annotated {
+		@Named("a") Object a;
+		@Named("b") Object b;
+	}
+
+	private void assertPooledScopeUsedTwice(final IModule pModule) {
+		try {
+			CommonsInject.build(pModule);
+			Assert.fail("Expected exception");
+		} catch (IllegalStateException e) {
+			Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("This scope is already used"));
+		}
+	}
+
+	@Test
+	public void testPooledScopeKeys() throws Exception {
+		final Annotation a = Annotated.class.getDeclaredField("a").getAnnotation(Named.class);
+		final Annotation b = Annotated.class.getDeclaredField("b").getAnnotation(Named.class);
+		final PooledScope pool = new PooledScope(2);
+		final IModule module = new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(List.class).annotatedWith(a).to(ArrayList.class).scope(pool);
+			}
+		};
+		// Building multiple injectors from the same module is fine.
+		CommonsInject.build(module);
+		CommonsInject.build(module);
+		assertPooledScopeUsedTwice(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				final PooledScope shared = new PooledScope(2);
+				pBinder.bind(List.class).annotatedWith(a).to(ArrayList.class).scope(shared);
+				pBinder.bind(List.class).annotatedWith(b).to(ArrayList.class).scope(shared);
+			}
+		});
+		assertPooledScopeUsedTwice(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				final PooledScope shared = new PooledScope(2);
+				pBinder.bind(List.class).annotatedWith(Blue.class).to(ArrayList.class).scope(shared);
+				pBinder.bind(List.class).annotatedWith(Red.class).to(ArrayList.class).scope(shared);
+			}
+		});
+	}
+}
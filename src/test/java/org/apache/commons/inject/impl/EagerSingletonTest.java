@@ -0,0 +1,92 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EagerSingletonTest {
+	private static final AtomicInteger counter = new AtomicInteger();
+
+	public static class Leaf {
+		private final int sequenceNumber = counter.incrementAndGet();
+	}
+
+	public static class Node {
+		private final int sequenceNumber;
+		private final Leaf leaf1, leaf2;
+
+		@Inject
+		public Node(@Named("leaf1") Leaf pLeaf1, @Named("leaf2") Leaf pLeaf2) {
+			leaf1 = pLeaf1;
+			leaf2 = pLeaf2;
+			sequenceNumber = counter.incrementAndGet();
+		}
+	}
+
+	private IModule newModule() {
+		return new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				// Bind the node first, so that its dependencies are created on demand,
+				// unless the dependency graph is taken into account.
+				pBinder.bind(Node.class).asEagerSingleton();
+				pBinder.bind(Leaf.class, "leaf1").to(Leaf.class).asEagerSingleton();
+				pBinder.bind(Leaf.class, "leaf2").to(Leaf.class).asEagerSingleton();
+			}
+		};
+	}
+
+	private void assertInjector(IInjector pInjector) {
+		final Node node = pInjector.requireInstance(Node.class);
+		final Leaf leaf1 = pInjector.requireInstance(Leaf.class, "leaf1");
+		final Leaf leaf2 = pInjector.requireInstance(Leaf.class, "leaf2");
+		Assert.assertNotSame(leaf1, leaf2);
+		Assert.assertSame(leaf1, node.leaf1);
+		Assert.assertSame(leaf2, node.leaf2);
+		Assert.assertTrue(leaf1.sequenceNumber < node.sequenceNumber);
+		Assert.assertTrue(leaf2.sequenceNumber < node.sequenceNumber);
+	}
+
+	@Test
+	public void testSequentialCreation() throws Exception {
+		assertInjector(CommonsInject.build(newModule()));
+	}
+
+	@Test
+	public void testParallelCreation() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final IInjector injector = CommonsInject.newBuilder().modules(newModule())
+					.eagerSingletonExecutor(executor).build();
+			assertInjector(injector);
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.IKey;
+import org.apache.commons.inject.api.Key;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.api.bind.Scopes;
+import org.apache.commons.inject.util.Types;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GenericKeyTest {
+	private static final List<String> STRING_LIST = new ArrayList<String>();
+	private static final List<Integer> INTEGER_LIST = new ArrayList<Integer>();
+	private static final List<Object> RAW_LIST = new ArrayList<Object>();
+
+	public interface Repository<T> {
+		T find();
+	}
+
+	public static class User {
+	}
+
+	public static class UserRepository implements Repository<User> {
+		@Override
+		public User find() {
+			return new User();
+		}
+	}
+
+	public static class GenericallyInjectedObject {
+		@Inject List<String> strings;
+		@Inject List<Integer> integers;
+		@Inject List<Double> doubles;
+		@Inject Provider<List<String>> stringsProvider;
+		@Inject Repository<User> users;
+		Map<String, List<Integer>[]> map;
+	}
+
+	private IInjector newInjector() {
+		return CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(new Key<List<String>>(){}).toInstance(STRING_LIST);
+				pBinder.bind(new Key<List<Integer>>(){}).toInstance(INTEGER_LIST);
+				pBinder.bind(List.class).toInstance(RAW_LIST);
+				pBinder.bind(new Key<Repository<User>>(){}).to(UserRepository.class).scope(Scopes.PER_CALL);
+				pBinder.bind(GenericallyInjectedObject.class).scope(Scopes.PER_CALL);
+			}
+		});
+	}
+
+	@Test
+	public void testGenericInjection() {
+		final IInjector injector = newInjector();
+		final GenericallyInjectedObject gio = injector.requireInstance(GenericallyInjectedObject.class);
+		Assert.assertSame(STRING_LIST, gio.strings);
+		Assert.assertSame(INTEGER_LIST, gio.integers);
+		// No binding for List<Double>: Fall back to the raw type.
+		Assert.assertSame(RAW_LIST, gio.doubles);
+		Assert.assertSame(STRING_LIST, gio.stringsProvider.get());
+		Assert.assertTrue(gio.users instanceof UserRepository);
+	}
+
+	@Test
+	public void testGenericLookup() {
+		final IInjector injector = newInjector();
+		Assert.assertSame(STRING_LIST, injector.requireInstance(new Key<List<String>>(){}));
+		final Type type = Types.newParameterizedType(List.class, Integer.class);
+		final IKey<List<Integer>> key = new Key<List<Integer>>(type, Key.NO_NAME);
+		Assert.assertSame(INTEGER_LIST, injector.requireInstance(key));
+		Assert.assertSame(RAW_LIST, injector.requireInstance(List.class));
+		Assert.assertEquals("Type=java.util.List<java.lang.Integer>", key.toString());
+	}
+
+	@Test
+	public void testExternalKey() {
+		final IInjector injector = newInjector();
+		// An implementation of IKey, which doesn't know about generic types.
+		@SuppressWarnings("rawtypes")
+		final IKey<List> key = new IKey<List>() {
+			@Override
+			public Class<List> getType() {
+				return List.class;
+			}
+
+			@Override
+			public String getName() {
+				return Key.NO_NAME;
+			}
+
+			@Override
+			public Annotation[] getAnnotations() {
+				return Key.NO_ANNOTATIONS;
+			}
+		};
+		Assert.assertSame(List.class, key.getGenericType());
+		Assert.assertSame(RAW_LIST, injector.requireInstance(key));
+	}
+
+	@Test
+	public void testCanonicalTypes() throws Exception {
+		final Type type = GenericallyInjectedObject.class.getDeclaredField("map").getGenericType();
+		final Type canonicalType = Types.canonicalize(type);
+		Assert.assertNotSame(type, canonicalType);
+		Assert.assertEquals(type, canonicalType);
+		Assert.assertEquals(canonicalType, type);
+		Assert.assertEquals(type.hashCode(), canonicalType.hashCode());
+		Assert.assertSame(Map.class, Types.getRawType(canonicalType));
+		final Type stringsType = GenericallyInjectedObject.class.getDeclaredField("strings").getGenericType();
+		final Type newType = Types.newParameterizedType(List.class, String.class);
+		Assert.assertEquals(stringsType, newType);
+		Assert.assertEquals(newType, stringsType);
+		Assert.assertEquals(stringsType.hashCode(), newType.hashCode());
+		Assert.assertEquals(stringsType.toString(), newType.toString());
+	}
+}
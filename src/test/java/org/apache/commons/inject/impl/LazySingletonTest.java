@@ -0,0 +1,102 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LazySingletonTest {
+	public static class CountedObject {
+		private static final AtomicInteger numInstances = new AtomicInteger();
+
+		public CountedObject() {
+			numInstances.incrementAndGet();
+		}
+	}
+
+	public static class CyclicObjectA {
+		@Inject private CyclicObjectB b;
+	}
+
+	public static class CyclicObjectB {
+		@Inject private CyclicObjectA a;
+	}
+
+	@Test
+	public void testConcurrentCreation() throws Exception {
+		final IInjector injector = CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(CountedObject.class).asLazySingleton();
+			}
+		});
+		final int numThreads = 8;
+		final CountDownLatch startSignal = new CountDownLatch(1);
+		final Object[] instances = new Object[numThreads];
+		final Thread[] threads = new Thread[numThreads];
+		for (int i = 0;  i < numThreads;  i++) {
+			final int index = i;
+			threads[i] = new Thread(){
+				@Override
+				public void run() {
+					try {
+						startSignal.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					instances[index] = injector.requireInstance(CountedObject.class);
+				}
+			};
+			threads[i].start();
+		}
+		startSignal.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Assert.assertEquals(1, CountedObject.numInstances.get());
+		for (Object instance : instances) {
+			Assert.assertNotNull(instance);
+			Assert.assertSame(instances[0], instance);
+		}
+	}
+
+	@Test
+	public void testCircularDependency() throws Exception {
+		final IInjector injector = CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(CyclicObjectA.class).asLazySingleton();
+				pBinder.bind(CyclicObjectB.class).asLazySingleton();
+			}
+		});
+		try {
+			injector.requireInstance(CyclicObjectA.class);
+			Assert.fail("Expected exception");
+		} catch (IllegalStateException e) {
+			Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Circular dependency detected"));
+		}
+	}
+}
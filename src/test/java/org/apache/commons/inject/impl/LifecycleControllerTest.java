@@ -0,0 +1,251 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.Assert;
+
+import org.apache.commons.inject.api.ILifecycleListener;
+import org.apache.commons.inject.api.IPhasedLifecycleListener;
+import org.junit.Test;
+
+public class LifecycleControllerTest {
+	private static class RecordingListener implements ILifecycleListener {
+		private final String name;
+		private final List<String> events;
+
+		RecordingListener(String pName, List<String> pEvents) {
+			name = pName;
+			events = pEvents;
+		}
+
+		@Override
+		public void start() {
+			events.add("start " + name);
+		}
+
+		@Override
+		public void shutdown() {
+			events.add("shutdown " + name);
+		}
+	}
+
+	private static class PhasedListener extends RecordingListener implements IPhasedLifecycleListener {
+		private final int phase;
+		private final CountDownLatch latch;
+
+		PhasedListener(String pName, List<String> pEvents, int pPhase, CountDownLatch pLatch) {
+			super(pName, pEvents);
+			phase = pPhase;
+			latch = pLatch;
+		}
+
+		@Override
+		public int getPhase() {
+			return phase;
+		}
+
+		@Override
+		public void start() {
+			super.start();
+			if (latch != null) {
+				latch.countDown();
+				try {
+					if (!latch.await(5, TimeUnit.SECONDS)) {
+						throw new IllegalStateException("Not started in parallel");
+					}
+				} catch (InterruptedException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testOrder() {
+		final List<String> events = new ArrayList<String>();
+		final DefaultLifecycleController controller = new DefaultLifecycleController();
+		final RecordingListener a = new RecordingListener("a", events);
+		final RecordingListener b = new RecordingListener("b", events);
+		final RecordingListener c = new RecordingListener("c", events);
+		Assert.assertTrue(controller.add(a));
+		Assert.assertTrue(controller.add(b));
+		Assert.assertFalse(controller.add(b));
+		Assert.assertTrue(controller.add(c));
+		Assert.assertTrue(controller.remove(b));
+		Assert.assertFalse(controller.remove(b));
+		controller.add(new PhasedListener("early", events, -1, null));
+		controller.add(new PhasedListener("late", events, 1, null));
+		controller.start();
+		final RecordingListener d = new RecordingListener("d", events);
+		controller.add(d);
+		controller.shutdown();
+		Assert.assertEquals("[start early, start a, start c, start late, start d,"
+				+ " shutdown late, shutdown d, shutdown c, shutdown a, shutdown early]",
+				events.toString());
+	}
+
+	@Test
+	public void testParallelStart() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+			final DefaultLifecycleController controller = new DefaultLifecycleController();
+			controller.setExecutor(executor);
+			final CountDownLatch latch = new CountDownLatch(3);
+			for (int i = 0;  i < 3;  i++) {
+				controller.add(new PhasedListener("p" + i, events, 0, latch));
+			}
+			controller.add(new RecordingListener("plain", events));
+			controller.start();
+			Assert.assertEquals(4, events.size());
+			Assert.assertEquals("start plain", events.get(3));
+			controller.shutdown();
+			Assert.assertEquals(8, events.size());
+			Assert.assertEquals("shutdown plain", events.get(4));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testTimeout() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+			final DefaultLifecycleController controller = new DefaultLifecycleController();
+			controller.setExecutor(executor);
+			controller.setTimeout(50, TimeUnit.MILLISECONDS);
+			controller.add(new PhasedListener("p0", events, 0, null));
+			controller.add(new PhasedListener("p1", events, 0, new CountDownLatch(2)));
+			try {
+				controller.start();
+				Assert.fail("Expected exception");
+			} catch (IllegalStateException e) {
+				Assert.assertTrue(e.getMessage(), e.getMessage().contains("did not start within 50 milliseconds"));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testTimeoutPerPhase() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+			final DefaultLifecycleController controller = new DefaultLifecycleController();
+			controller.setExecutor(executor);
+			controller.setTimeout(200, TimeUnit.MILLISECONDS);
+			// None of these listeners completes, because the latch is never released.
+			final CountDownLatch latch = new CountDownLatch(5);
+			for (int i = 0;  i < 4;  i++) {
+				controller.add(new PhasedListener("p" + i, events, 0, latch));
+			}
+			final long startTime = System.nanoTime();
+			try {
+				controller.start();
+				Assert.fail("Expected exception");
+			} catch (IllegalStateException e) {
+				Assert.assertTrue(e.getMessage(), e.getMessage().contains("did not start within 200 milliseconds"));
+			}
+			// The timeout applies to the phase, not to each listener.
+			final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+			Assert.assertTrue(String.valueOf(millis), millis < 600);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testRejectedExecution() {
+		final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+		final DefaultLifecycleController controller = new DefaultLifecycleController();
+		controller.setExecutor(new Executor() {
+			@Override
+			public void execute(Runnable pCommand) {
+				throw new RejectedExecutionException();
+			}
+		});
+		controller.add(new PhasedListener("p0", events, 0, null));
+		controller.add(new PhasedListener("p1", events, 0, null));
+		// Rejected listeners are run by the current thread.
+		controller.start();
+		Assert.assertEquals("[start p0, start p1]", events.toString());
+		controller.shutdown();
+		Assert.assertEquals("[start p0, start p1, shutdown p1, shutdown p0]", events.toString());
+	}
+
+	@Test
+	public void testAddRemove() {
+		final List<String> events = new ArrayList<String>();
+		final DefaultLifecycleController controller = new DefaultLifecycleController();
+		final RecordingListener a = new RecordingListener("a", events);
+		final RecordingListener b = new RecordingListener("b", events);
+		Assert.assertTrue(controller.add(a));
+		// A listener is registered only once.
+		Assert.assertFalse(controller.add(a));
+		Assert.assertTrue(controller.add(b));
+		controller.start();
+		Assert.assertEquals("[start a, start b]", events.toString());
+		// Removing a started listener shuts it down.
+		Assert.assertTrue(controller.remove(a));
+		Assert.assertEquals("[start a, start b, shutdown a]", events.toString());
+		Assert.assertFalse(controller.remove(a));
+		controller.shutdown();
+		Assert.assertEquals("[start a, start b, shutdown a, shutdown b]", events.toString());
+	}
+
+	@Test
+	public void testAddDuringStart() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+			final DefaultLifecycleController controller = new DefaultLifecycleController();
+			controller.setExecutor(executor);
+			// The timeout turns a deadlock into a failure.
+			controller.setTimeout(5, TimeUnit.SECONDS);
+			final RecordingListener added = new RecordingListener("added", events);
+			for (int i = 0;  i < 2;  i++) {
+				controller.add(new PhasedListener("p" + i, events, 0, null) {
+					@Override
+					public void start() {
+						super.start();
+						controller.add(added);
+					}
+				});
+			}
+			controller.start();
+			Assert.assertEquals(3, events.size());
+			Assert.assertTrue(events.contains("start added"));
+			controller.shutdown();
+			Assert.assertEquals(6, events.size());
+			Assert.assertTrue(events.contains("shutdown added"));
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
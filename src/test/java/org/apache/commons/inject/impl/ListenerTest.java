@@ -28,6 +28,7 @@ import org.apache.commons.inject.api.CommonsInject;
 import org.apache.commons.inject.api.IInjector;
 import org.apache.commons.inject.api.IKey;
 import org.apache.commons.inject.api.ILifecycleController;
+import org.apache.commons.inject.api.ILifecycleListener;
 import org.apache.commons.inject.api.PostConstructModule;
 import org.apache.commons.inject.api.bind.IBinder;
 import org.apache.commons.inject.api.bind.IModule;
@@ -94,6 +95,37 @@ public class ListenerTest {
 		}
 	}
 
+	public static class BaseLifecycleObject {
+		final List<String> calls = new ArrayList<String>();
+
+		@PostConstruct
+		public void startBase() {
+			calls.add("startBase");
+		}
+
+		@PostConstruct
+		public void start() {
+			calls.add("baseStart");
+		}
+
+		@PreDestroy
+		public void shutdownBase() {
+			calls.add("shutdownBase");
+		}
+	}
+	public static class DerivedLifecycleObject extends BaseLifecycleObject {
+		@Override
+		@PostConstruct
+		public void start() {
+			calls.add("derivedStart");
+		}
+
+		@PreDestroy
+		public void shutdownDerived() {
+			calls.add("shutdownDerived");
+		}
+	}
+
 	@Test
 	public void testListeners() {
 		final ListenerModule module = new ListenerModule();
@@ -149,4 +181,101 @@ public class ListenerTest {
 		eager1.assertTerminated();
 		lazy1.assertTerminated();
 	}
+
+	@Test
+	public void testInheritedPostConstruct() {
+		final PostConstructModule module0 = new PostConstructModule();
+		final IModule module1 = new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(DerivedLifecycleObject.class).scope(Scopes.PER_CALL);
+			}
+		};
+		final ILifecycleController controller = module0.getLifecycleController();
+		controller.start();
+		final IInjector injector = CommonsInject.build(module0, module1);
+		final DerivedLifecycleObject object = injector.requireInstance(DerivedLifecycleObject.class);
+		Assert.assertEquals(2, object.calls.size());
+		Assert.assertEquals("startBase", object.calls.get(0));
+		Assert.assertEquals("derivedStart", object.calls.get(1));
+		controller.shutdown();
+		Assert.assertEquals(4, object.calls.size());
+		Assert.assertEquals("shutdownBase", object.calls.get(2));
+		Assert.assertEquals("shutdownDerived", object.calls.get(3));
+	}
+
+	@Test
+	public void testWeakTracking() {
+		final PostConstructModule module0 = new PostConstructModule();
+		module0.setWeakTracking(true);
+		module0.setMaxTrackedInstances(2);
+		final IModule module1 = new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(InitializableObject.class).scope(Scopes.PER_CALL);
+			}
+		};
+		final ILifecycleController controller = module0.getLifecycleController();
+		controller.start();
+		final IInjector injector = CommonsInject.build(module0, module1);
+		final InitializableObject object1 = injector.requireInstance(InitializableObject.class);
+		final InitializableObject object2 = injector.requireInstance(InitializableObject.class);
+		final InitializableObject object3 = injector.requireInstance(InitializableObject.class);
+		object1.assertStarted();
+		object2.assertStarted();
+		object3.assertStarted();
+		controller.shutdown();
+		object1.assertTerminated();
+		object2.assertTerminated();
+		boolean terminated = true;
+		try {
+			object3.assertTerminated();
+		} catch (AssertionError e) {
+			// Expected, the object isn't tracked.
+			terminated = false;
+		}
+		Assert.assertFalse(terminated);
+	}
+
+	@Test
+	public void testUntrackedInstances() {
+		final List<ILifecycleListener> added = new ArrayList<ILifecycleListener>();
+		final PostConstructModule module0 = new PostConstructModule();
+		module0.setWeakTracking(true);
+		module0.setMaxTrackedInstances(1);
+		module0.setLifecycleController(new DefaultLifecycleController(){
+			@Override
+			public boolean add(ILifecycleListener pListener) {
+				added.add(pListener);
+				return super.add(pListener);
+			}
+		});
+		final IModule module1 = new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(InitializableObject.class).scope(Scopes.PER_CALL);
+			}
+		};
+		final ILifecycleController controller = module0.getLifecycleController();
+		final IInjector injector = CommonsInject.build(module0, module1);
+		final int numListeners = added.size();
+		final InitializableObject object1 = injector.requireInstance(InitializableObject.class);
+		final InitializableObject object2 = injector.requireInstance(InitializableObject.class);
+		final InitializableObject object3 = injector.requireInstance(InitializableObject.class);
+		// Only the tracked object is added to the controller.
+		Assert.assertEquals(numListeners + 1, added.size());
+		controller.start();
+		object1.assertStarted();
+		object2.assertStarted();
+		object3.assertStarted();
+		final InitializableObject object4 = injector.requireInstance(InitializableObject.class);
+		object4.assertStarted();
+		Assert.assertEquals(numListeners + 1, added.size());
+		controller.shutdown();
+		object1.assertTerminated();
+		// The untracked objects aren't terminated.
+		Assert.assertEquals(1, object2.state);
+		Assert.assertEquals(1, object3.state);
+		Assert.assertEquals(1, object4.state);
+	}
 }
@@ -16,6 +16,9 @@
 */
 package org.apache.commons.inject.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.commons.inject.api.AbstractLoggerInjectingModule;
 import org.apache.commons.inject.api.CommonsInject;
 import org.apache.commons.inject.api.IInjector;
@@ -59,4 +62,53 @@ public class LoggerModuleTest {
 		Assert.assertEquals("DEBUG MyLogger shutdown: ->", factory.getMessage(3));
 		Assert.assertEquals("DEBUG MyLogger shutdown: <-", factory.getMessage(4));
 	}
+
+	@Test
+	public void testLoggerCache() {
+		final SimpleLoggerFactory factory = new SimpleLoggerFactory();
+		final List<String> ids = new ArrayList<String>();
+		final IModule module0 = new AbstractLoggerInjectingModule<SimpleLogger>(){
+			@Override
+			protected SimpleLogger newLogger(String pId) {
+				ids.add(pId);
+				return factory.getLogger(pId);
+			}
+		};
+		final IModule module1 = new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(InitializableObject.class, "a").scope(Scopes.PER_CALL);
+				pBinder.bind(InitializableObject.class, "b").scope(Scopes.PER_CALL);
+			}
+		};
+		final IInjector injector = CommonsInject.build(module0, module1);
+		injector.requireInstance(InitializableObject.class, "a").run();
+		injector.requireInstance(InitializableObject.class, "a").run();
+		injector.requireInstance(InitializableObject.class, "b").run();
+		Assert.assertEquals(1, ids.size());
+		Assert.assertEquals("MyLogger", ids.get(0));
+		Assert.assertEquals(3, factory.getNumEvents());
+	}
+
+	@Test
+	public void testNullLogger() {
+		final IModule module0 = new AbstractLoggerInjectingModule<SimpleLogger>(){
+			@Override
+			protected SimpleLogger newLogger(String pId) {
+				return null;
+			}
+		};
+		final IModule module1 = new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(InitializableObject.class).scope(Scopes.PER_CALL);
+			}
+		};
+		try {
+			CommonsInject.build(module0, module1);
+			Assert.fail("Expected exception");
+		} catch (IllegalStateException e) {
+			Assert.assertEquals("No logger created for id: MyLogger", e.getMessage());
+		}
+	}
 }
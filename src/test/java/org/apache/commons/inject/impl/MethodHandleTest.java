@@ -0,0 +1,112 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.UndeclaredThrowableException;
+
+import javax.inject.Inject;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.api.bind.Scopes;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MethodHandleTest {
+	public static class PublicConstructor {
+		public PublicConstructor() {
+			// Nothing to do.
+		}
+	}
+
+	public static class PrivateConstructor {
+		private PrivateConstructor() {
+			// Nothing to do.
+		}
+	}
+
+	public static class FailingDefaultConstructor {
+		public FailingDefaultConstructor() {
+			throw new IllegalStateException("FailingDefaultConstructor");
+		}
+	}
+
+	public static class FailingConstructor {
+		@Inject
+		public FailingConstructor(String pValue) {
+			throw new IllegalStateException("FailingConstructor " + pValue);
+		}
+	}
+
+	public static class FailingMethod {
+		@Inject
+		public void setValue(String pValue) {
+			throw new IllegalStateException("FailingMethod " + pValue);
+		}
+	}
+
+	@Test
+	public void testExceptions() {
+		final IInjector injector = CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(String.class).toInstance("value");
+				pBinder.bind(FailingConstructor.class).scope(Scopes.PER_CALL);
+				pBinder.bind(FailingMethod.class).scope(Scopes.PER_CALL);
+				pBinder.bind(FailingDefaultConstructor.class).scope(Scopes.PER_CALL);
+			}
+		});
+		// Like reflective invocations, the handles wrap the exceptions.
+		assertInvocationTargetException("FailingConstructor value", injector, FailingConstructor.class);
+		assertInvocationTargetException("FailingMethod value", injector, FailingMethod.class);
+		assertInvocationTargetException("FailingDefaultConstructor", injector, FailingDefaultConstructor.class);
+	}
+
+	private void assertInvocationTargetException(String pMessage, IInjector pInjector, Class<?> pType) {
+		try {
+			pInjector.requireInstance(pType);
+			Assert.fail("Expected exception");
+		} catch (UndeclaredThrowableException e) {
+			final InvocationTargetException ite = (InvocationTargetException) e.getCause();
+			Assert.assertEquals(pMessage, ite.getTargetException().getMessage());
+		}
+	}
+
+	@Test
+	public void testDefaultConstructor() {
+		Assert.assertNotNull(ClassMetadata.forClass(PublicConstructor.class).getDefaultConstructorHandle());
+		// Like Class.newInstance(), the injector must not invoke a private constructor.
+		Assert.assertNull(ClassMetadata.forClass(PrivateConstructor.class).getDefaultConstructorHandle());
+		final IInjector injector = CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(PublicConstructor.class).scope(Scopes.PER_CALL);
+				pBinder.bind(PrivateConstructor.class).scope(Scopes.PER_CALL);
+			}
+		});
+		Assert.assertNotNull(injector.requireInstance(PublicConstructor.class));
+		try {
+			injector.requireInstance(PrivateConstructor.class);
+			Assert.fail("Expected exception");
+		} catch (UndeclaredThrowableException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalAccessException);
+		}
+	}
+}
@@ -0,0 +1,185 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+import javax.inject.Qualifier;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IBindingMetrics;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.IInjectorBuilder;
+import org.apache.commons.inject.api.IInjectorMetrics;
+import org.apache.commons.inject.api.Key;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.api.bind.IScopedBindingBuilder;
+import org.apache.commons.inject.api.bind.PooledScope;
+import org.apache.commons.inject.api.bind.Scopes;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MetricsTest {
+	@Qualifier @Retention(RetentionPolicy.RUNTIME)
+	public @interface Primary {
+	}
+	@Qualifier @Retention(RetentionPolicy.RUNTIME)
+	public @interface Secondary {
+	}
+	@SuppressWarnings("rawtypes")
+	public static class QualifiedLists {
+		@Primary List primary;
+		@Secondary List secondary;
+	}
+	private static final IModule MODULE = new IModule(){
+		@Override
+		public void configure(IBinder pBinder) {
+			pBinder.bind(List.class).to(ArrayList.class).scope(Scopes.PER_CALL);
+			pBinder.bind(TimeRecordingObject.class).asLazySingleton();
+		}
+	};
+
+	/**
+	 * A builder, which was written before the optional settings had been
+	 * added, must still compile, and work.
+	 */
+	@Test
+	public void testBuilderDefaults() throws Exception {
+		final IInjectorBuilder builder = new IInjectorBuilder(){
+			private final List<IModule> modules = new ArrayList<IModule>();
+
+			@Override
+			public IInjectorBuilder modules(IModule... pModules) {
+				return modules(Arrays.asList(pModules));
+			}
+
+			@Override
+			public IInjectorBuilder modules(Collection<IModule> pModules) {
+				modules.addAll(pModules);
+				return this;
+			}
+
+			@Override
+			public IInjector build() {
+				return CommonsInject.build(modules);
+			}
+		};
+		Assert.assertSame(builder, builder.metrics(1).eagerSingletonExecutor(null).profiler(null).parent(null));
+		try {
+			builder.metrics(-1);
+			Assert.fail("Expected exception");
+		} catch (IllegalArgumentException e) {
+			// Okay
+		}
+		final IInjector injector = builder.modules(MODULE).build();
+		try {
+			builder.parent(injector);
+			Assert.fail("Expected exception");
+		} catch (UnsupportedOperationException e) {
+			// Okay
+		}
+		final IScopedBindingBuilder<Object> scopedBuilder = new IScopedBindingBuilder<Object>(){
+			@Override
+			public void scope(Scopes pScope) {
+				// Does nothing.
+			}
+
+			@Override
+			public void asEagerSingleton() {
+				// Does nothing.
+			}
+
+			@Override
+			public void asLazySingleton() {
+				// Does nothing.
+			}
+		};
+		try {
+			scopedBuilder.scope(new PooledScope(1));
+			Assert.fail("Expected exception");
+		} catch (UnsupportedOperationException e) {
+			// Okay
+		}
+	}
+
+	@Test
+	public void testMetricsDisabled() throws Exception {
+		final IInjector injector = CommonsInject.build(MODULE);
+		Assert.assertNull(injector.getMetrics());
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Test
+	public void testMetrics() throws Exception {
+		final IInjector injector = CommonsInject.newBuilder().modules(MODULE).metrics(1).build();
+		final int num = 100;
+		for (int i = 0;  i < num;  i++) {
+			injector.requireInstance(List.class);
+			injector.requireInstance(TimeRecordingObject.class);
+		}
+		final IInjectorMetrics metrics = injector.getMetrics();
+		Assert.assertNotNull(metrics);
+		final IBindingMetrics listMetrics = metrics.getBindingMetrics(new Key<List>(List.class));
+		Assert.assertEquals(num, listMetrics.getCallCount());
+		Assert.assertEquals(num, listMetrics.getCreationCount());
+		Assert.assertEquals(num, listMetrics.getSampledCreationCount());
+		long histogramCount = 0;
+		for (long count : listMetrics.getCreationNanosHistogram()) {
+			histogramCount += count;
+		}
+		Assert.assertEquals(num, histogramCount);
+		Assert.assertTrue(listMetrics.getMedianCreationNanos() <= listMetrics.get99thPercentileCreationNanos());
+		final IBindingMetrics singletonMetrics = metrics.getBindingMetrics(new Key<TimeRecordingObject>(TimeRecordingObject.class));
+		Assert.assertEquals(num, singletonMetrics.getCallCount());
+		Assert.assertEquals(1, singletonMetrics.getCreationCount());
+		Assert.assertNull(metrics.getBindingMetrics(new Key<List>(List.class, "foo")));
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Test
+	public void testAnnotationTypes() throws Exception {
+		final IInjector injector = CommonsInject.newBuilder().modules(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(List.class).annotatedWith(Primary.class).to(ArrayList.class).scope(Scopes.PER_CALL);
+				pBinder.bind(List.class).annotatedWith(Secondary.class).to(LinkedList.class).scope(Scopes.PER_CALL);
+			}
+		}).metrics(1).build();
+		final Annotation primary = QualifiedLists.class.getDeclaredField("primary").getAnnotation(Primary.class);
+		final Annotation secondary = QualifiedLists.class.getDeclaredField("secondary").getAnnotation(Secondary.class);
+		final Key<List> primaryKey = new Key<List>(List.class, Key.NO_NAME, new Annotation[]{ primary });
+		final Key<List> secondaryKey = new Key<List>(List.class, Key.NO_NAME, new Annotation[]{ secondary });
+		Assert.assertTrue(injector.requireInstance(primaryKey) instanceof ArrayList);
+		for (int i = 0;  i < 4;  i++) {
+			Assert.assertTrue(injector.requireInstance(secondaryKey) instanceof LinkedList);
+		}
+		final IInjectorMetrics metrics = injector.getMetrics();
+		final IBindingMetrics primaryMetrics = metrics.getBindingMetrics(primaryKey);
+		final IBindingMetrics secondaryMetrics = metrics.getBindingMetrics(secondaryKey);
+		Assert.assertNotSame(primaryMetrics, secondaryMetrics);
+		Assert.assertEquals(1, primaryMetrics.getCreationCount());
+		Assert.assertEquals(4, secondaryMetrics.getCreationCount());
+	}
+}
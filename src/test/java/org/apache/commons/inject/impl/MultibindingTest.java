@@ -0,0 +1,131 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.Key;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IMapBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.api.bind.Scopes;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MultibindingTest {
+	public interface Handler {
+	}
+
+	public static class JsonHandler implements Handler {
+	}
+
+	public static class XmlHandler implements Handler {
+	}
+
+	public static class HandlerRegistry {
+		@Inject Set<Handler> handlers;
+		@Inject Map<String, Handler> handlersByName;
+	}
+
+	private static final Handler CSV_HANDLER = new Handler(){};
+
+	private IInjector newInjector(final boolean pPerCallElement) {
+		final IModule module1 = new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bindSet(Handler.class).addBinding().to(JsonHandler.class).asEagerSingleton();
+				pBinder.bindMap(String.class, Handler.class).addBinding("json").to(JsonHandler.class).asLazySingleton();
+				pBinder.bind(HandlerRegistry.class).scope(Scopes.PER_CALL);
+			}
+		};
+		final IModule module2 = new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bindSet(Handler.class).addBinding().toInstance(CSV_HANDLER);
+				if (pPerCallElement) {
+					pBinder.bindSet(Handler.class).addBinding().to(XmlHandler.class).scope(Scopes.PER_CALL);
+				}
+				final IMapBinder<String, Handler> mapBinder = pBinder.bindMap(String.class, Handler.class);
+				mapBinder.addBinding("csv").toInstance(CSV_HANDLER);
+				mapBinder.addBinding("xml").to(XmlHandler.class).asEagerSingleton();
+				pBinder.bindSet(String.class, "empty");
+			}
+		};
+		return CommonsInject.build(module1, module2);
+	}
+
+	@Test
+	public void testSingletonElements() {
+		final IInjector injector = newInjector(false);
+		final HandlerRegistry registry1 = injector.requireInstance(HandlerRegistry.class);
+		final HandlerRegistry registry2 = injector.requireInstance(HandlerRegistry.class);
+		Assert.assertNotSame(registry1, registry2);
+		// All elements are singletons, so the collections are shared.
+		Assert.assertSame(registry1.handlers, registry2.handlers);
+		Assert.assertSame(registry1.handlersByName, registry2.handlersByName);
+		Assert.assertEquals(2, registry1.handlers.size());
+		final Iterator<Handler> iter = registry1.handlers.iterator();
+		Assert.assertTrue(iter.next() instanceof JsonHandler);
+		Assert.assertSame(CSV_HANDLER, iter.next());
+		final Map<String, Handler> map = registry1.handlersByName;
+		Assert.assertEquals(3, map.size());
+		Assert.assertTrue(map.get("json") instanceof JsonHandler);
+		Assert.assertSame(CSV_HANDLER, map.get("csv"));
+		Assert.assertTrue(map.get("xml") instanceof XmlHandler);
+		Assert.assertSame(map, injector.requireInstance(new Key<Map<String, Handler>>(){}));
+		Assert.assertTrue(injector.requireInstance(new Key<Set<String>>("empty"){}).isEmpty());
+		try {
+			registry1.handlers.clear();
+			Assert.fail("Expected Exception");
+		} catch (UnsupportedOperationException e) {
+			// Ok, the set is immutable.
+		}
+	}
+
+	@Test
+	public void testPerCallElements() {
+		final IInjector injector = newInjector(true);
+		final Set<Handler> handlers1 = injector.requireInstance(HandlerRegistry.class).handlers;
+		final Set<Handler> handlers2 = injector.requireInstance(HandlerRegistry.class).handlers;
+		Assert.assertEquals(3, handlers1.size());
+		Assert.assertNotSame(handlers1, handlers2);
+		Assert.assertFalse(handlers1.equals(handlers2));
+	}
+
+	@Test
+	public void testDuplicateKey() {
+		try {
+			CommonsInject.build(new IModule(){
+				@Override
+				public void configure(IBinder pBinder) {
+					pBinder.bindMap(String.class, Handler.class).addBinding("json").to(JsonHandler.class).asEagerSingleton();
+					pBinder.bindMap(String.class, Handler.class).addBinding("json").to(XmlHandler.class).asEagerSingleton();
+				}
+			});
+			Assert.fail("Expected Exception");
+		} catch (IllegalStateException e) {
+			Assert.assertEquals("The key json has already been added to the map Type=java.util.Map<java.lang.String, "
+					+ Handler.class.getName() + ">", e.getMessage());
+		}
+	}
+}
@@ -22,9 +22,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import javax.inject.Inject;
+import javax.inject.Named;
+
 import org.apache.commons.inject.api.CommonsInject;
 import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.IInjectorMetrics;
 import org.apache.commons.inject.api.IKey;
+import org.apache.commons.inject.api.IProvider;
 import org.apache.commons.inject.api.Key;
 import org.apache.commons.inject.api.NoSuchBindingException;
 import org.apache.commons.inject.api.bind.IBinder;
@@ -148,4 +153,216 @@ public class SimpleInjectorTest {
 		Assert.assertTrue(time0 <= eager0Time &&  eager0Time <= time1 &&  eager0Time <= time2);
 		Assert.assertTrue(time0 <= lazy0Time &&  time1 <= lazy0Time &&  lazy0Time <= time2);
 	}
+
+	public static class MembersInjectedObject {
+		@Inject private TimeRecordingObject tro;
+	}
+
+	@Test
+	public void testInjectMembersAfterLookup() throws Exception {
+		final IModule module = new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(TimeRecordingObject.class).asEagerSingleton();
+			}
+		};
+		final IInjector injector = CommonsInject.build(module);
+		// No binding yet, but the lookup result must not be cached forever.
+		Assert.assertNull(injector.getInstance(MembersInjectedObject.class));
+		final MembersInjectedObject mio = new MembersInjectedObject();
+		injector.injectMembers(mio);
+		Assert.assertSame(injector.requireInstance(TimeRecordingObject.class), mio.tro);
+		Assert.assertNotNull(injector.getInstance(MembersInjectedObject.class));
+	}
+
+	private static Named named(final String pValue) {
+		return new Named() {
+			@Override
+			public Class<? extends Annotation> annotationType() {
+				return Named.class;
+			}
+
+			@Override
+			public String value() {
+				return pValue;
+			}
+
+			@Override
+			public int hashCode() {
+				return (127 * "value".hashCode()) ^ pValue.hashCode();
+			}
+
+			@Override
+			public boolean equals(Object pOther) {
+				return pOther instanceof Named  &&  pValue.equals(((Named) pOther).value());
+			}
+		};
+	}
+
+	@Test
+	public void testManyAnnotatedBindings() throws Exception {
+		final int num = 50;
+		final List<List<Object>> lists = new ArrayList<List<Object>>();
+		for (int i = 0;  i < num;  i++) {
+			lists.add(new ArrayList<Object>());
+		}
+		final IModule module = new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				for (int i = 0;  i < num;  i++) {
+					pBinder.bind(List.class).annotatedWith(named("list" + i)).toInstance(lists.get(i));
+				}
+			}
+		};
+		final IInjector injector = CommonsInject.build(module);
+		for (int i = 0;  i < num;  i++) {
+			@SuppressWarnings("rawtypes")
+			final IKey<List> key = new Key<List>(List.class, Key.NO_NAME, new Annotation[]{named("list" + i)});
+			Assert.assertSame(lists.get(i), injector.requireInstance(key));
+		}
+		@SuppressWarnings("rawtypes")
+		final IKey<List> key = new Key<List>(List.class, Key.NO_NAME, new Annotation[]{named("list" + num)});
+		Assert.assertNull(injector.getInstance(key));
+	}
+
+	@Test
+	public void testBulkInstances() throws Exception {
+		final IInjector injector = newInjector();
+		@SuppressWarnings("rawtypes")
+		final List[] lists = injector.requireInstances(List.class, 100);
+		Assert.assertEquals(100, lists.length);
+		for (int i = 0;  i < lists.length;  i++) {
+			Assert.assertTrue(lists[i] instanceof ArrayList);
+			for (int j = 0;  j < i;  j++) {
+				Assert.assertNotSame(lists[i], lists[j]);
+			}
+		}
+		@SuppressWarnings("rawtypes")
+		final List[] fooLists = injector.getInstances(new Key<List>(List.class, "foo"), 3);
+		for (List<?> fooList : fooLists) {
+			Assert.assertSame(FOO_LIST, fooList);
+		}
+		Assert.assertEquals(0, injector.requireInstances(List.class, 0).length);
+		Assert.assertNull(injector.getInstances(Map.class, 10));
+		try {
+			injector.requireInstances(new Key<Map>(Map.class), 10);
+			Assert.fail("Expected Exception");
+		} catch (NoSuchBindingException e) {
+			Assert.assertEquals("No binding registered for key: " + new Key<Map>(Map.class), e.getMessage());
+		}
+	}
+
+	@Test
+	public void testProviderHandles() throws Exception {
+		final IInjector injector = newInjector();
+		@SuppressWarnings("rawtypes")
+		final IProvider<List> listProvider = injector.getProvider(List.class);
+		final Object list1 = listProvider.get();
+		final Object list2 = listProvider.get();
+		Assert.assertTrue(list1 instanceof ArrayList);
+		Assert.assertNotSame(list1, list2);
+		@SuppressWarnings("rawtypes")
+		final IProvider<List> fooProvider = injector.getProvider(new Key<List>(List.class, "foo"));
+		Assert.assertSame(FOO_LIST, fooProvider.get());
+		Assert.assertSame(FOO_LIST, fooProvider.get());
+		try {
+			injector.getProvider(Map.class);
+			Assert.fail("Expected Exception");
+		} catch (NoSuchBindingException e) {
+			Assert.assertEquals("No binding registered for key: " + new Key<Map>(Map.class), e.getMessage());
+		}
+	}
+
+	@Test
+	public void testProviderHandleForJitBinding() throws Exception {
+		final IModule module = new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(TimeRecordingObject.class).asEagerSingleton();
+			}
+		};
+		final IInjector injector = CommonsInject.build(module);
+		try {
+			injector.getProvider(MembersInjectedObject.class);
+			Assert.fail("Expected Exception");
+		} catch (NoSuchBindingException e) {
+			// Ok, no binding yet.
+		}
+		injector.injectMembers(new MembersInjectedObject());
+		final IProvider<MembersInjectedObject> provider = injector.getProvider(MembersInjectedObject.class);
+		final MembersInjectedObject mio = provider.get();
+		Assert.assertSame(injector.requireInstance(TimeRecordingObject.class), mio.tro);
+	}
+
+	/**
+	 * An external implementation of {@link IInjector}, which implements
+	 * the abstract methods only.
+	 */
+	private static class DelegatingInjector implements IInjector {
+		private final IInjector injector;
+
+		DelegatingInjector(IInjector pInjector) {
+			injector = pInjector;
+		}
+
+		@Override
+		public <T> T getInstance(Class<T> pType) {
+			return injector.getInstance(pType);
+		}
+
+		@Override
+		public <T> T getInstance(Class<T> pType, String pName) {
+			return injector.getInstance(pType, pName);
+		}
+
+		@Override
+		public <T> T getInstance(IKey<T> pKey) {
+			return injector.getInstance(pKey);
+		}
+
+		@Override
+		public <T> T requireInstance(Class<T> pType) throws NoSuchBindingException {
+			return injector.requireInstance(pType);
+		}
+
+		@Override
+		public <T> T requireInstance(Class<T> pType, String pName) throws NoSuchBindingException {
+			return injector.requireInstance(pType, pName);
+		}
+
+		@Override
+		public <T> T requireInstance(IKey<T> pKey) throws NoSuchBindingException {
+			return injector.requireInstance(pKey);
+		}
+
+		@Override
+		public void injectMembers(Object pInstance) {
+			injector.injectMembers(pInstance);
+		}
+
+		@Override
+		public IInjectorMetrics getMetrics() {
+			return injector.getMetrics();
+		}
+	}
+
+	@Test
+	public void testDefaultMethods() throws Exception {
+		final IInjector injector = new DelegatingInjector(newInjector());
+		@SuppressWarnings("rawtypes")
+		final List[] lists = injector.requireInstances(List.class, 3);
+		Assert.assertEquals(3, lists.length);
+		Assert.assertNotSame(lists[0], lists[1]);
+		Assert.assertNull(injector.getInstances(Map.class, 2));
+		@SuppressWarnings("rawtypes")
+		final IProvider<List> fooProvider = injector.getProvider(new Key<List>(List.class, "foo"));
+		Assert.assertSame(FOO_LIST, fooProvider.get());
+		Assert.assertEquals(List.class, fooProvider.getType());
+		try {
+			injector.getProvider(Map.class).get();
+			Assert.fail("Expected Exception");
+		} catch (NoSuchBindingException e) {
+			// Ok, the default implementation reports the missing binding lazily.
+		}
+	}
 }
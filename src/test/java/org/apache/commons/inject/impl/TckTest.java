@@ -16,6 +16,11 @@
 */
 package org.apache.commons.inject.impl;
 
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import junit.framework.TestResult;
+
 import org.apache.commons.inject.api.CommonsInject;
 import org.apache.commons.inject.api.IInjector;
 import org.apache.commons.inject.api.bind.IBinder;
@@ -33,6 +38,7 @@ import org.atinject.tck.auto.Tire;
 import org.atinject.tck.auto.V8Engine;
 import org.atinject.tck.auto.accessories.Cupholder;
 import org.atinject.tck.auto.accessories.SpareTire;
+import org.junit.Assert;
 import org.junit.Test;
 
 public class TckTest {
@@ -50,6 +56,23 @@ public class TckTest {
 		Tck.testsFor(car, false, true);
 	}
 
+	@Test
+	public void testTckInVirtualThreads() throws Exception {
+		final IInjector injector = newInjector(false);
+		final List<TestResult> results = VirtualThreads.invokeAll(1000, new Callable<TestResult>(){
+			@Override
+			public TestResult call() throws Exception {
+				final Car car = injector.requireInstance(Car.class);
+				final TestResult result = new TestResult();
+				Tck.testsFor(car, false, true).run(result);
+				return result;
+			}
+		});
+		for (TestResult result : results) {
+			Assert.assertTrue(result.wasSuccessful());
+		}
+	}
+
 	private IInjector newInjector(boolean pWithStaticInjection) {
 		final IModule module = new IModule(){
 			@Override
@@ -0,0 +1,91 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.RequestScope;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.api.bind.Scopes;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ThreadAndRequestScopeTest {
+	private IInjector newInjector() {
+		return CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(List.class, "thread").to(ArrayList.class).scope(Scopes.THREAD);
+				pBinder.bind(List.class, "request").to(ArrayList.class).scope(Scopes.REQUEST);
+			}
+		});
+	}
+
+	@Test
+	public void testThreadScope() throws Exception {
+		final IInjector injector = newInjector();
+		final List<?> list1 = injector.requireInstance(List.class, "thread");
+		Assert.assertSame(list1, injector.requireInstance(List.class, "thread"));
+		final Object[] otherThreadLists = new Object[2];
+		final Thread thread = new Thread(){
+			@Override
+			public void run() {
+				otherThreadLists[0] = injector.requireInstance(List.class, "thread");
+				otherThreadLists[1] = injector.requireInstance(List.class, "thread");
+			}
+		};
+		thread.start();
+		thread.join();
+		Assert.assertNotNull(otherThreadLists[0]);
+		Assert.assertSame(otherThreadLists[0], otherThreadLists[1]);
+		Assert.assertNotSame(list1, otherThreadLists[0]);
+	}
+
+	@Test
+	public void testRequestScope() throws Exception {
+		final IInjector injector = newInjector();
+		try {
+			injector.requireInstance(List.class, "request");
+			Assert.fail("Expected exception");
+		} catch (IllegalStateException e) {
+			// Expected: No request scope.
+		}
+		final List<?> list1, list2;
+		try (RequestScope scope = RequestScope.enter()) {
+			Assert.assertSame(scope, RequestScope.getCurrent());
+			list1 = injector.requireInstance(List.class, "request");
+			Assert.assertSame(list1, injector.requireInstance(List.class, "request"));
+			try (RequestScope nestedScope = RequestScope.enter()) {
+				Assert.assertSame(nestedScope, RequestScope.getCurrent());
+				final List<?> nestedList = injector.requireInstance(List.class, "request");
+				Assert.assertNotSame(list1, nestedList);
+			}
+			Assert.assertSame(scope, RequestScope.getCurrent());
+			Assert.assertSame(list1, injector.requireInstance(List.class, "request"));
+		}
+		Assert.assertNull(RequestScope.getCurrent());
+		try (RequestScope scope = RequestScope.enter()) {
+			Assert.assertSame(scope, RequestScope.getCurrent());
+			list2 = injector.requireInstance(List.class, "request");
+		}
+		Assert.assertNotSame(list1, list2);
+	}
+}
@@ -0,0 +1,78 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import org.apache.commons.inject.api.CommonsInject;
+import org.apache.commons.inject.api.IInjector;
+import org.apache.commons.inject.api.bind.IBinder;
+import org.apache.commons.inject.api.bind.IModule;
+import org.apache.commons.inject.api.bind.Scopes;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Stress tests for singletons, which are requested by thousands of virtual
+ * threads. Skipped, unless running on Java 21, or later.
+ */
+public class VirtualThreadStressTest {
+	private static final int NUM_THREADS = 5000;
+
+	public static class SlowSingleton {
+		private static final AtomicInteger numInstances = new AtomicInteger();
+
+		public SlowSingleton() throws InterruptedException {
+			numInstances.incrementAndGet();
+			// Simulates I/O, which would pin the carrier thread, if the
+			// provider used synchronized.
+			Thread.sleep(100);
+		}
+	}
+
+	public static class SingletonUser {
+		@Inject SlowSingleton singleton;
+	}
+
+	@Test
+	public void testSingletonsInVirtualThreads() throws Exception {
+		final IInjector injector = CommonsInject.build(new IModule(){
+			@Override
+			public void configure(IBinder pBinder) {
+				pBinder.bind(SlowSingleton.class).asLazySingleton();
+				pBinder.bind(SingletonUser.class).scope(Scopes.PER_CALL);
+			}
+		});
+		final List<SlowSingleton> singletons = VirtualThreads.invokeAll(NUM_THREADS, new Callable<SlowSingleton>(){
+			@Override
+			public SlowSingleton call() throws Exception {
+				final SingletonUser user = injector.requireInstance(SingletonUser.class);
+				Assert.assertSame(user.singleton, injector.requireInstance(SlowSingleton.class));
+				return user.singleton;
+			}
+		});
+		Assert.assertEquals(NUM_THREADS, singletons.size());
+		for (SlowSingleton singleton : singletons) {
+			Assert.assertSame(singletons.get(0), singleton);
+		}
+		Assert.assertEquals(1, SlowSingleton.numInstances.get());
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Assume;
+
+/**
+ * Runs tasks in virtual threads, if the JVM supports them (Java 21, or later).
+ * The project is compiled for Java 8, so virtual threads are created via
+ * reflection. If the {@code PinnedThreadRecorder} is available (see the Maven
+ * profile "virtual-threads"), then virtual threads, which block while pinned
+ * to their carrier thread, are recorded via JFR. Such events are treated as
+ * test failures.
+ */
+public class VirtualThreads {
+	private static ExecutorService newExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (NoSuchMethodException e) {
+			return null;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Runs the given task in the given number of virtual threads, and
+	 * returns the results. Skips the current test, if virtual threads
+	 * aren't supported.
+	 */
+	public static <T> List<T> invokeAll(int pNumThreads, Callable<T> pTask) throws Exception {
+		final ExecutorService executor = newExecutor();
+		Assume.assumeTrue(executor != null);
+		final Object recorder = newRecorder();
+		final List<T> results = new ArrayList<T>(pNumThreads);
+		try {
+			final List<Future<T>> futures = new ArrayList<Future<T>>(pNumThreads);
+			for (int i = 0;  i < pNumThreads;  i++) {
+				futures.add(executor.submit(pTask));
+			}
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		if (recorder != null) {
+			final String pinnedThreads = (String) recorder.getClass().getMethod("stop").invoke(recorder);
+			Assert.assertEquals("Pinned virtual threads detected: " + pinnedThreads, 0, pinnedThreads.length());
+		}
+		return results;
+	}
+
+	/**
+	 * Creates, and starts a {@link PinnedThreadRecorder}, if available,
+	 * or returns null.
+	 */
+	private static Object newRecorder() throws Exception {
+		final Class<?> recorderClass;
+		try {
+			recorderClass = Class.forName(VirtualThreads.class.getPackage().getName() + ".PinnedThreadRecorder");
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+		return recorderClass.getConstructor().newInstance();
+	}
+}
@@ -0,0 +1,68 @@
+/**
+ Licensed to the Apache Software Foundation (ASF) under one or more
+ contributor license agreements.  See the NOTICE file distributed with
+ this work for additional information regarding copyright ownership.
+ The ASF licenses this file to You under the Apache License, Version 2.0
+ (the "License"); you may not use this file except in compliance with
+ the License.  You may obtain a copy of the License at
+
+      http://www.apache.org/licenses/LICENSE-2.0
+
+ Unless required by applicable law or agreed to in writing, software
+ distributed under the License is distributed on an "AS IS" BASIS,
+ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ See the License for the specific language governing permissions and
+ limitations under the License.
+*/
+package org.apache.commons.inject.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Records the JFR events of virtual threads, which block while pinned to
+ * their carrier thread. This class is compiled in the Maven profile
+ * "virtual-threads" only, and used by {@link VirtualThreads}, which loads
+ * it via reflection, because the tests are compiled for Java 8.
+ */
+public class PinnedThreadRecorder {
+	private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+	private final Recording recording;
+
+	/**
+	 * Creates a new instance, and starts recording.
+	 */
+	public PinnedThreadRecorder() {
+		recording = new Recording();
+		recording.enable(EVENT_NAME).withStackTrace().withThreshold(Duration.ZERO);
+		recording.start();
+	}
+
+	/**
+	 * Stops recording, and returns a description of the pinned threads,
+	 * which have been detected, or the empty string.
+	 */
+	public String stop() throws IOException {
+		final Path file = Files.createTempFile("pinned-threads", ".jfr");
+		try {
+			recording.stop();
+			recording.dump(file);
+			final StringBuilder sb = new StringBuilder();
+			for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+				if (EVENT_NAME.equals(event.getEventType().getName())) {
+					sb.append(event);
+				}
+			}
+			return sb.toString();
+		} finally {
+			recording.close();
+			Files.deleteIfExists(file);
+		}
+	}
+}